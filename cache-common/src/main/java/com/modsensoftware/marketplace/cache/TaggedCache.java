@@ -0,0 +1,136 @@
+package com.modsensoftware.marketplace.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+/**
+ * Page cache which records in redis sets which pages contain which entities.
+ * Keys evicted from this cache are ids of the modified entities: evicting an id
+ * evicts only the pages containing the entity instead of the whole cache.
+ *
+ * @author andrey.demyanchik on 1/30/2023
+ */
+@Slf4j
+public class TaggedCache implements Cache {
+
+    private final Cache delegate;
+    private final StringRedisTemplate redisTemplate;
+    private final Function<Object, Object> idExtractor;
+    private final Duration ttl;
+
+    private static final String TAG_KEY_PREFIX = "tag::";
+    private static final String CACHE_KEY_DELIMITER = "::";
+
+    public TaggedCache(Cache delegate, StringRedisTemplate redisTemplate,
+                       Function<Object, Object> idExtractor, Duration ttl) {
+        this.delegate = delegate;
+        this.redisTemplate = redisTemplate;
+        this.idExtractor = idExtractor;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        tag(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            tag(key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object id) {
+        evictTagged(id);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object id) {
+        return evictTagged(id);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    /**
+     * Adds the page key to the tag sets of all the entities of the page
+     * with a single pipeline. Tag sets live as long as the pages added to them.
+     */
+    private void tag(Object key, Object value) {
+        if (!(value instanceof Collection)) {
+            return;
+        }
+        RedisSerializer<String> serializer = redisTemplate.getStringSerializer();
+        byte[] pageKey = serializer.serialize(key.toString());
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Object entity : (Collection<?>) value) {
+                byte[] tagKey = serializer.serialize(tagKey(idExtractor.apply(entity)));
+                connection.setCommands().sAdd(tagKey, pageKey);
+                connection.keyCommands().pExpire(tagKey, ttl.toMillis());
+            }
+            return null;
+        });
+    }
+
+    private boolean evictTagged(Object id) {
+        String tagKey = tagKey(id);
+        Set<String> pageKeys = redisTemplate.opsForSet().members(tagKey);
+        if (pageKeys == null || pageKeys.isEmpty()) {
+            return false;
+        }
+        log.debug("Evicting pages {} of cache {} containing entity with id {}", pageKeys, getName(), id);
+        pageKeys.forEach(delegate::evict);
+        redisTemplate.delete(tagKey);
+        return true;
+    }
+
+    private String tagKey(Object id) {
+        return TAG_KEY_PREFIX + getName() + CACHE_KEY_DELIMITER + id;
+    }
+}
@@ -0,0 +1,50 @@
+package com.modsensoftware.marketplace.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Decorates page caches of the provided redis cache manager with {@link TaggedCache}.
+ *
+ * @author andrey.demyanchik on 1/30/2023
+ */
+public class TaggedCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final StringRedisTemplate redisTemplate;
+    private final Map<String, Function<Object, Object>> idExtractors;
+    private final Map<String, Cache> taggedCaches = new ConcurrentHashMap<>();
+
+    /**
+     * @param idExtractors functions extracting ids of the cached entities mapped by page cache names
+     */
+    public TaggedCacheManager(CacheManager delegate, StringRedisTemplate redisTemplate,
+                              Map<String, Function<Object, Object>> idExtractors) {
+        this.delegate = delegate;
+        this.redisTemplate = redisTemplate;
+        this.idExtractors = idExtractors;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = delegate.getCache(name);
+        Function<Object, Object> idExtractor = idExtractors.get(name);
+        if (!(cache instanceof RedisCache) || idExtractor == null) {
+            return cache;
+        }
+        return taggedCaches.computeIfAbsent(name, cacheName -> new TaggedCache(cache, redisTemplate,
+                idExtractor, ((RedisCache) cache).getCacheConfiguration().getTtl()));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
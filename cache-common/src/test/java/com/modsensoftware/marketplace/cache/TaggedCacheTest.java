@@ -0,0 +1,72 @@
+package com.modsensoftware.marketplace.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * @author andrey.demyanchik on 1/30/2023
+ */
+@ExtendWith(MockitoExtension.class)
+public class TaggedCacheTest {
+
+    @Mock
+    private Cache delegate;
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    private TaggedCache underTest;
+
+    private static final String CACHE_NAME = "companies";
+
+    @BeforeEach
+    void setUp() {
+        underTest = new TaggedCache(delegate, redisTemplate, Function.identity(), Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void shouldTagPageWithIdsOfItsEntities() {
+        // given
+        String pageKey = "SimpleKey [0,null,null]";
+        List<String> page = List.of("1", "2");
+        BDDMockito.given(redisTemplate.getStringSerializer()).willReturn(new StringRedisSerializer());
+        // when
+        underTest.put(pageKey, page);
+        // then
+        BDDMockito.verify(delegate).put(pageKey, page);
+        BDDMockito.verify(redisTemplate).executePipelined(BDDMockito.any(RedisCallback.class));
+    }
+
+    @Test
+    public void evictionByIdShouldEvictOnlyTaggedPages() {
+        // given
+        String id = "1";
+        String tagKey = "tag::" + CACHE_NAME + "::" + id;
+        BDDMockito.given(delegate.getName()).willReturn(CACHE_NAME);
+        BDDMockito.given(redisTemplate.opsForSet()).willReturn(setOperations);
+        BDDMockito.given(setOperations.members(tagKey)).willReturn(Set.of("page0", "page3"));
+        // when
+        underTest.evict(id);
+        // then
+        BDDMockito.verify(delegate).evict("page0");
+        BDDMockito.verify(delegate).evict("page3");
+        BDDMockito.verify(delegate, BDDMockito.never()).evict(id);
+        BDDMockito.verify(delegate, BDDMockito.never()).clear();
+        BDDMockito.verify(redisTemplate).delete(tagKey);
+    }
+}
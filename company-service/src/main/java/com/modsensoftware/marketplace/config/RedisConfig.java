@@ -1,22 +1,27 @@
 package com.modsensoftware.marketplace.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.modsensoftware.marketplace.dto.CompanyResponseDto;
+import com.modsensoftware.marketplace.cache.TaggedCacheManager;
+import com.modsensoftware.marketplace.dto.CompanyResponse;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 import static com.modsensoftware.marketplace.constants.Constants.COMPANIES_CACHE_NAME;
+import static com.modsensoftware.marketplace.constants.Constants.FILTERED_COMPANIES_CACHE_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.SINGLE_COMPANY_CACHE_NAME;
 
 /**
@@ -39,26 +44,33 @@ public class RedisConfig {
     }
 
     @Bean
-    public RedisCacheManagerBuilderCustomizer redisCacheManagerBuilderCustomizer() {
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory, StringRedisTemplate redisTemplate) {
         ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
-        Jackson2JsonRedisSerializer<CompanyResponseDto> companyValueSerializer
-                = new Jackson2JsonRedisSerializer<>(CompanyResponseDto.class);
+        Jackson2JsonRedisSerializer<CompanyResponse> companyValueSerializer
+                = new Jackson2JsonRedisSerializer<>(CompanyResponse.class);
         companyValueSerializer.setObjectMapper(mapper);
         Jackson2JsonRedisSerializer<List> companiesValueSerializer
                 = new Jackson2JsonRedisSerializer<>(List.class);
         companiesValueSerializer.setObjectMapper(mapper);
-        return builder -> builder
+        RedisCacheConfiguration companiesCacheConfiguration = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofSeconds(companyTtlSeconds))
+                .disableCachingNullValues()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(companiesValueSerializer));
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .withCacheConfiguration(SINGLE_COMPANY_CACHE_NAME,
                         RedisCacheConfiguration.defaultCacheConfig()
                                 .entryTtl(Duration.ofSeconds(companyTtlSeconds))
                                 .disableCachingNullValues()
                                 .serializeValuesWith(RedisSerializationContext.SerializationPair
                                         .fromSerializer(companyValueSerializer)))
-                .withCacheConfiguration(COMPANIES_CACHE_NAME,
-                        RedisCacheConfiguration.defaultCacheConfig()
-                                .entryTtl(Duration.ofSeconds(companyTtlSeconds))
-                                .disableCachingNullValues()
-                                .serializeValuesWith(RedisSerializationContext.SerializationPair
-                                        .fromSerializer(companiesValueSerializer)));
+                .withCacheConfiguration(COMPANIES_CACHE_NAME, companiesCacheConfiguration)
+                .withCacheConfiguration(FILTERED_COMPANIES_CACHE_NAME, companiesCacheConfiguration)
+                .build();
+        redisCacheManager.initializeCaches();
+        // Only unfiltered pages are tagged, pages of filtered lists are evicted entirely
+        // as an updated entity may start or stop matching the filters
+        return new TaggedCacheManager(redisCacheManager, redisTemplate,
+                Map.of(COMPANIES_CACHE_NAME, company -> ((CompanyResponse) company).getId()));
     }
 }
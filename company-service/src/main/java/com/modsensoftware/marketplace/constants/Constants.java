@@ -15,10 +15,16 @@ public final class Constants {
     public static final long MIN_PAGE_NUMBER = 0L;
     public static final String EMAIL_REGEX = "(\\w+)@(\\w+\\.)(\\w+)(\\.\\w+)*";
 
+    public static final String ID_PATH_VARIABLE_NAME = "id";
     public static final String PAGE_FILTER_NAME = "page";
     public static final String DEFAULT_PAGE_NUMBER = "0";
+    public static final String AFTER_FILTER_NAME = "after";
+    public static final String IDS_FILTER_NAME = "ids";
     public static final String EMAIL_FILTER_NAME = "email";
     public static final String NAME_FILTER_NAME = "name";
+    public static final String PREFIX_SEARCH_WILDCARD = "*";
+    public static final String SIMILARITY_FUNCTION_NAME = "similarity";
     public static final String COMPANIES_CACHE_NAME = "companies";
+    public static final String FILTERED_COMPANIES_CACHE_NAME = "filteredCompanies";
     public static final String SINGLE_COMPANY_CACHE_NAME = "company";
 }
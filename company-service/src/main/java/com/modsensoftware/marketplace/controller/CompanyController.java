@@ -3,9 +3,11 @@ package com.modsensoftware.marketplace.controller;
 import com.modsensoftware.marketplace.dto.CompanyRequest;
 import com.modsensoftware.marketplace.dto.CompanyResponse;
 import com.modsensoftware.marketplace.service.CompanyService;
+import com.modsensoftware.marketplace.paging.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -24,9 +26,11 @@ import javax.validation.Valid;
 
 import java.util.List;
 
+import static com.modsensoftware.marketplace.constants.Constants.AFTER_FILTER_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.DEFAULT_PAGE_NUMBER;
 import static com.modsensoftware.marketplace.constants.Constants.EMAIL_FILTER_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.EMAIL_REGEX;
+import static com.modsensoftware.marketplace.constants.Constants.IDS_FILTER_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.ID_PATH_VARIABLE_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.INVALID_EMAIL_MESSAGE;
 import static com.modsensoftware.marketplace.constants.Constants.MIN_PAGE_NUMBER;
@@ -58,6 +62,25 @@ public class CompanyController {
         return companyService.getAllCompanies(pageNumber, email, name);
     }
 
+    @GetMapping(params = AFTER_FILTER_NAME, produces = {"application/json"})
+    public ResponseEntity<List<CompanyResponse>> getAllCompaniesAfter(
+            @RequestParam(name = AFTER_FILTER_NAME) String after,
+            @RequestParam(name = EMAIL_FILTER_NAME, required = false)
+            @Email(regexp = EMAIL_REGEX, message = INVALID_EMAIL_MESSAGE) String email,
+            @RequestParam(name = NAME_FILTER_NAME, required = false) String name
+    ) {
+        log.debug("Fetching all companies after cursor {}. "
+                + "Filter by email: {}, name: {}", after, email, name);
+        return PageCursor.toPageResponse(companyService.getAllCompanies(after, email, name),
+                company -> PageCursor.encode(company.getCreated(), company.getId()));
+    }
+
+    @GetMapping(params = IDS_FILTER_NAME, produces = {"application/json"})
+    public List<CompanyResponse> getCompaniesByIds(@RequestParam(name = IDS_FILTER_NAME) List<Long> ids) {
+        log.debug("Fetching companies by ids: {}", ids);
+        return companyService.getCompaniesByIds(ids);
+    }
+
     @GetMapping(value = "/{id}", produces = {"application/json"})
     public CompanyResponse getCompanyById(@PathVariable(name = ID_PATH_VARIABLE_NAME) Long id) {
         log.debug("Fetching company by id: {}", id);
@@ -2,6 +2,7 @@ package com.modsensoftware.marketplace.dao;
 
 import com.modsensoftware.marketplace.domain.Company;
 import com.modsensoftware.marketplace.exception.EntityNotFoundException;
+import com.modsensoftware.marketplace.paging.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.Session;
@@ -11,18 +12,26 @@ import org.hibernate.query.Query;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
-import javax.persistence.NoResultException;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import static com.modsensoftware.marketplace.constants.Constants.EMAIL_FILTER_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.NAME_FILTER_NAME;
+import static com.modsensoftware.marketplace.constants.Constants.PREFIX_SEARCH_WILDCARD;
+import static com.modsensoftware.marketplace.constants.Constants.SIMILARITY_FUNCTION_NAME;
+import static com.modsensoftware.marketplace.domain.Company.CREATED_FIELD_NAME;
 import static com.modsensoftware.marketplace.domain.Company.DESCRIPTION_FIELD_NAME;
 import static com.modsensoftware.marketplace.domain.Company.EMAIL_FIELD_NAME;
 import static com.modsensoftware.marketplace.domain.Company.ID_FIELD_NAME;
@@ -47,55 +56,49 @@ public class CompanyDao implements Dao<Company, Long> {
     @Value("${exception.message.companyNotFound}")
     private String companyNotFoundMessage;
 
+    /**
+     * Loads the company by id, so it is served by the second-level cache when it is enabled.
+     */
     @Override
     public Company get(Long id) {
         log.debug("Fetching company entity with id {}", id);
-        Session session = sessionFactory.openSession();
-        CriteriaBuilder cb = session.getCriteriaBuilder();
-        CriteriaQuery<Company> byId = cb.createQuery(Company.class);
-        Root<Company> root = byId.from(Company.class);
-        byId.select(root).where(
-                cb.and(
-                        cb.equal(root.get(ID_FIELD_NAME), id),
-                        cb.isFalse(root.get(IS_SOFT_DELETED_FIELD_NAME))
-                )
-        );
-
-        Query<Company> query = session.createQuery(byId);
-        try {
-            return query.getSingleResult();
-        } catch (NoResultException e) {
-            log.error("Company entity with id {} not found", id);
-            throw new EntityNotFoundException(format(companyNotFoundMessage, id), e);
-        } finally {
-            session.close();
+        try (Session session = sessionFactory.openSession()) {
+            Company company = session.get(Company.class, id);
+            if (company == null || company.getIsDeleted()) {
+                log.error("Company entity with id {} not found", id);
+                throw new EntityNotFoundException(format(companyNotFoundMessage, id));
+            }
+            return company;
+        }
+    }
+
+    /**
+     * Loads the companies with the given ids in one batch, skipping the missing and soft deleted ones.
+     */
+    public List<Company> getAllByIds(Collection<Long> ids) {
+        log.debug("Fetching company entities with ids {}", ids);
+        try (Session session = sessionFactory.openSession()) {
+            return session.byMultipleIds(Company.class)
+                    .multiLoad(new ArrayList<>(ids))
+                    .stream()
+                    .filter(company -> company != null && !company.getIsDeleted())
+                    .collect(Collectors.toList());
         }
     }
 
+    /**
+     * Resolves the company by its natural id, so the check is served by
+     * the natural id cache when the second-level cache is enabled.
+     */
     public boolean existsByEmail(String email) {
         log.debug("Checking if company with email {} exists", email);
-        Session session = sessionFactory.openSession();
-        CriteriaBuilder cb = session.getCriteriaBuilder();
-        CriteriaQuery<Company> byId = cb.createQuery(Company.class);
-        Root<Company> root = byId.from(Company.class);
-        byId.select(root).where(
-                cb.and(
-                        cb.equal(root.get(EMAIL_FIELD_NAME), email),
-                        cb.isFalse(root.get(IS_SOFT_DELETED_FIELD_NAME))
-                )
-        );
-
-        Query<Company> query = session.createQuery(byId);
-        try {
-            // If the company with provided email
-            // does not exist the exception will be thrown
-            query.getSingleResult();
+        try (Session session = sessionFactory.openSession()) {
+            Company company = session.bySimpleNaturalId(Company.class).load(email);
+            if (company == null || company.getIsDeleted()) {
+                log.info("Company entity with email {} not found", email);
+                return false;
+            }
             return true;
-        } catch (NoResultException e) {
-            log.info("Company entity with email {} not found", email);
-            return false;
-        } finally {
-            session.close();
         }
     }
 
@@ -111,12 +114,48 @@ public class CompanyDao implements Dao<Company, Long> {
         List<Predicate> predicates
                 = constructPredicatesFromProps(filterProperties, cb, root);
         predicates.add(cb.isFalse(root.get(IS_SOFT_DELETED_FIELD_NAME)));
-        getAll.select(root).where(predicates.toArray(new Predicate[0]));
+        getAll.select(root).where(predicates.toArray(new Predicate[0]))
+                .orderBy(constructRankingFromProps(filterProperties, cb, root));
 
         // Paging
         Query<Company> query = session.createQuery(getAll);
         query.setFirstResult(pageSize * pageNumber);
         query.setMaxResults(pageSize);
+        query.setCacheable(true);
+        List<Company> results = query.getResultList();
+        session.close();
+        return results;
+    }
+
+    @Override
+    public List<Company> getAll(String after, Map<String, String> filterProperties) {
+        log.debug("Fetching all companies after cursor {}", after);
+        Session session = sessionFactory.openSession();
+        CriteriaBuilder cb = session.getCriteriaBuilder();
+        CriteriaQuery<Company> getAll = cb.createQuery(Company.class);
+        Root<Company> root = getAll.from(Company.class);
+
+        // Filtering
+        List<Predicate> predicates
+                = constructPredicatesFromProps(filterProperties, cb, root);
+        predicates.add(cb.isFalse(root.get(IS_SOFT_DELETED_FIELD_NAME)));
+
+        // Paging. (created, id) > (last created, last id),
+        // the first predicate bounds the index range scan
+        if (after != null && !after.isEmpty()) {
+            Map.Entry<LocalDateTime, Long> last = PageCursor.decode(after, Long::valueOf);
+            predicates.add(cb.greaterThanOrEqualTo(root.get(CREATED_FIELD_NAME), last.getKey()));
+            predicates.add(cb.or(
+                    cb.greaterThan(root.get(CREATED_FIELD_NAME), last.getKey()),
+                    cb.greaterThan(root.get(ID_FIELD_NAME), last.getValue())
+            ));
+        }
+        getAll.select(root).where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(root.get(CREATED_FIELD_NAME)), cb.asc(root.get(ID_FIELD_NAME)));
+
+        Query<Company> query = session.createQuery(getAll);
+        query.setMaxResults(pageSize);
+        query.setCacheable(true);
         List<Company> results = query.getResultList();
         session.close();
         return results;
@@ -186,11 +225,48 @@ public class CompanyDao implements Dao<Company, Long> {
         List<Predicate> predicates = new ArrayList<>();
         filterProperties.forEach((key, value) -> {
             if (key.equals(EMAIL_FILTER_NAME)) {
-                predicates.add(cb.like(root.get(EMAIL_FIELD_NAME), wrapIn(value, "%")));
+                predicates.add(textMatches(cb, root.get(EMAIL_FIELD_NAME), value));
             } else if (key.equals(NAME_FILTER_NAME)) {
-                predicates.add(cb.like(root.get(NAME_FIELD_NAME), wrapIn(value, "%")));
+                predicates.add(textMatches(cb, root.get(NAME_FIELD_NAME), value));
             }
         });
         return predicates;
     }
+
+    /**
+     * Value ending with {@link com.modsensoftware.marketplace.constants.Constants#PREFIX_SEARCH_WILDCARD}
+     * is matched as prefix, which is served by the btree pattern index. Any other value is
+     * matched as substring, which is served by the trigram index.
+     */
+    private Predicate textMatches(CriteriaBuilder cb, Path<String> field, String value) {
+        if (value.endsWith(PREFIX_SEARCH_WILDCARD)) {
+            return cb.like(field, value.substring(0, value.length() - PREFIX_SEARCH_WILDCARD.length()) + "%");
+        }
+        return cb.like(field, wrapIn(value, "%"));
+    }
+
+    /**
+     * Entities matching substring filters best go first,
+     * the rest of the order keeps the pages stable.
+     */
+    private List<Order> constructRankingFromProps(
+            Map<String, String> filterProperties,
+            CriteriaBuilder cb, Root<Company> root) {
+        List<Expression<Double>> similarities = new ArrayList<>();
+        filterProperties.forEach((key, value) -> {
+            if (key.equals(EMAIL_FILTER_NAME) && !value.endsWith(PREFIX_SEARCH_WILDCARD)) {
+                similarities.add(cb.function(SIMILARITY_FUNCTION_NAME, Double.class,
+                        root.get(EMAIL_FIELD_NAME), cb.literal(value)));
+            }
+            if (key.equals(NAME_FILTER_NAME) && !value.endsWith(PREFIX_SEARCH_WILDCARD)) {
+                similarities.add(cb.function(SIMILARITY_FUNCTION_NAME, Double.class,
+                        root.get(NAME_FIELD_NAME), cb.literal(value)));
+            }
+        });
+        List<Order> ranking = new ArrayList<>();
+        similarities.stream().reduce(cb::sum).ifPresent(rank -> ranking.add(cb.desc(rank)));
+        ranking.add(cb.asc(root.get(CREATED_FIELD_NAME)));
+        ranking.add(cb.asc(root.get(ID_FIELD_NAME)));
+        return ranking;
+    }
 }
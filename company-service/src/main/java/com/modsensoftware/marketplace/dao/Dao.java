@@ -11,6 +11,14 @@ public interface Dao<T, ID> {
 
     List<T> getAll(int pageNumber, Map<String, String> filterProperties);
 
+    /**
+     * Keyset pagination alternative to {@link #getAll(int, Map)}.
+     * Every page costs the same regardless of how deep it is.
+     *
+     * @param after cursor of the previous page, null or empty for the first page
+     */
+    List<T> getAll(String after, Map<String, String> filterProperties);
+
     void save(T t);
 
     void update(ID id, T updatedFields);
@@ -3,7 +3,12 @@ package com.modsensoftware.marketplace.domain;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
@@ -13,18 +18,25 @@ import javax.persistence.Table;
 import java.time.LocalDateTime;
 
 /**
+ * Cached in the second-level cache when it is enabled. Companies
+ * are also resolved by email through the natural id cache.
+ *
  * @author andrey.demyanchik on 10/31/2022
  */
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
 @Table(name = "company", schema = "company_service")
 public class Company {
 
     public static final String ID_FIELD_NAME = "id";
     public static final String NAME_FIELD_NAME = "name";
     public static final String EMAIL_FIELD_NAME = "email";
+    public static final String CREATED_FIELD_NAME = "created";
     public static final String DESCRIPTION_FIELD_NAME = "description";
     public static final String IS_SOFT_DELETED_FIELD_NAME = "isDeleted";
 
@@ -35,6 +47,7 @@ public class Company {
     @Column(name = "name", nullable = false)
     private String name;
 
+    @NaturalId(mutable = true)
     @Column(name = "email", nullable = false, unique = true)
     private String email;
 
@@ -5,6 +5,10 @@ package com.modsensoftware.marketplace.exception;
  */
 public class EntityNotFoundException extends RuntimeException {
 
+    public EntityNotFoundException(String message) {
+        super(message);
+    }
+
     public EntityNotFoundException(String message, Throwable cause) {
         super(message, cause);
     }
@@ -1,5 +1,6 @@
 package com.modsensoftware.marketplace.exception;
 
+import com.modsensoftware.marketplace.paging.InvalidCursorException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -22,6 +23,7 @@ public class RestResponseEntityExceptionHandler extends ResponseEntityExceptionH
 
     @ExceptionHandler(value = {
             EntityAlreadyExistsException.class,
+            InvalidCursorException.class
     })
     protected ResponseEntity<Object> handleBadRequest(RuntimeException ex, WebRequest request) {
         return handleExceptionInternal(ex, ex.getMessage(),
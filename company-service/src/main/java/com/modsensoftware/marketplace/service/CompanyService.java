@@ -3,6 +3,7 @@ package com.modsensoftware.marketplace.service;
 import com.modsensoftware.marketplace.dto.CompanyRequest;
 import com.modsensoftware.marketplace.dto.CompanyResponse;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -12,8 +13,12 @@ public interface CompanyService {
 
     CompanyResponse getCompanyById(Long id);
 
+    List<CompanyResponse> getCompaniesByIds(Collection<Long> ids);
+
     List<CompanyResponse> getAllCompanies(int pageNumber, String email, String name);
 
+    List<CompanyResponse> getAllCompanies(String after, String email, String name);
+
     void createCompany(CompanyRequest companyRequest);
 
     void deleteCompany(Long id);
@@ -16,6 +16,7 @@ import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +24,7 @@ import java.util.stream.Collectors;
 
 import static com.modsensoftware.marketplace.constants.Constants.COMPANIES_CACHE_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.EMAIL_FILTER_NAME;
+import static com.modsensoftware.marketplace.constants.Constants.FILTERED_COMPANIES_CACHE_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.NAME_FILTER_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.SINGLE_COMPANY_CACHE_NAME;
 import static java.lang.String.format;
@@ -48,7 +50,18 @@ public class CompanyServiceImpl implements CompanyService {
         return companyMapper.toCompanyResponseDto(companyDao.get(id));
     }
 
-    @Cacheable(cacheNames = COMPANIES_CACHE_NAME)
+    @Override
+    public List<CompanyResponse> getCompaniesByIds(Collection<Long> ids) {
+        log.debug("Fetching companies by ids: {}", ids);
+        return companyDao.getAllByIds(ids).stream()
+                .map(companyMapper::toCompanyResponseDto)
+                .collect(Collectors.toList());
+    }
+
+    @Caching(cacheable = {
+            @Cacheable(cacheNames = COMPANIES_CACHE_NAME, condition = "#email == null && #name == null"),
+            @Cacheable(cacheNames = FILTERED_COMPANIES_CACHE_NAME, condition = "#email != null || #name != null")
+    })
     @Override
     public List<CompanyResponse> getAllCompanies(int pageNumber, String email, String name) {
         log.debug("Fetching all companies for page {}. Filter by email: {} and name: {}",
@@ -61,7 +74,26 @@ public class CompanyServiceImpl implements CompanyService {
                 .collect(Collectors.toList());
     }
 
-    @CacheEvict(cacheNames = COMPANIES_CACHE_NAME, allEntries = true)
+    @Caching(cacheable = {
+            @Cacheable(cacheNames = COMPANIES_CACHE_NAME, condition = "#email == null && #name == null"),
+            @Cacheable(cacheNames = FILTERED_COMPANIES_CACHE_NAME, condition = "#email != null || #name != null")
+    })
+    @Override
+    public List<CompanyResponse> getAllCompanies(String after, String email, String name) {
+        log.debug("Fetching all companies after cursor {}. Filter by email: {} and name: {}",
+                after, email, name);
+        Map<String, String> filterProperties = new HashMap<>();
+        Utils.putIfNotNull(EMAIL_FILTER_NAME, email, filterProperties::put);
+        Utils.putIfNotNull(NAME_FILTER_NAME, name, filterProperties::put);
+        return companyDao.getAll(after, filterProperties).stream()
+                .map(companyMapper::toCompanyResponseDto)
+                .collect(Collectors.toList());
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = COMPANIES_CACHE_NAME, allEntries = true),
+            @CacheEvict(cacheNames = FILTERED_COMPANIES_CACHE_NAME, allEntries = true)
+    })
     @Override
     public void createCompany(CompanyRequest companyRequest) {
         log.debug("Creating new company from dto: {}", companyRequest);
@@ -79,7 +111,8 @@ public class CompanyServiceImpl implements CompanyService {
 
     @Caching(evict = {
             @CacheEvict(cacheNames = SINGLE_COMPANY_CACHE_NAME, key = "#id"),
-            @CacheEvict(cacheNames = COMPANIES_CACHE_NAME, allEntries = true)
+            @CacheEvict(cacheNames = COMPANIES_CACHE_NAME, allEntries = true),
+            @CacheEvict(cacheNames = FILTERED_COMPANIES_CACHE_NAME, allEntries = true)
     })
     @Override
     public void deleteCompany(Long id) {
@@ -88,7 +121,8 @@ public class CompanyServiceImpl implements CompanyService {
     }
 
     @Caching(evict = {
-            @CacheEvict(cacheNames = COMPANIES_CACHE_NAME, allEntries = true),
+            @CacheEvict(cacheNames = COMPANIES_CACHE_NAME, key = "#id"),
+            @CacheEvict(cacheNames = FILTERED_COMPANIES_CACHE_NAME, allEntries = true),
             @CacheEvict(cacheNames = SINGLE_COMPANY_CACHE_NAME, key = "#id")
     })
     @Override
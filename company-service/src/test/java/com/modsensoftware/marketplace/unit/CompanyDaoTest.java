@@ -3,6 +3,7 @@ package com.modsensoftware.marketplace.unit;
 import com.modsensoftware.marketplace.dao.CompanyDao;
 import com.modsensoftware.marketplace.domain.Company;
 import com.modsensoftware.marketplace.exception.EntityNotFoundException;
+import com.modsensoftware.marketplace.paging.PageCursor;
 import org.assertj.core.api.Assertions;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
@@ -188,6 +189,38 @@ public class CompanyDaoTest {
         deleteAllCompanies(companies);
     }
 
+    @Test
+    public void canGetAllNonSoftDeletedCompaniesWithKeysetPagination() {
+        // given
+        List<Company> companies = new ArrayList<>();
+        Company company;
+        Company softDeleted;
+        Random random = new Random();
+        for (int i = 0; i < pageSize + 1; i++) {
+            company = generateCompanyWithRandomEmailAndIsSoftDeleted(random, false);
+            softDeleted = generateCompanyWithRandomEmailAndIsSoftDeleted(random, true);
+            companies.add(company);
+            companies.add(softDeleted);
+            underTest.save(company);
+            underTest.save(softDeleted);
+        }
+
+        // when
+        List<Company> firstPage = underTest.getAll("", Collections.emptyMap());
+        Company last = firstPage.get(firstPage.size() - 1);
+        List<Company> secondPage = underTest.getAll(PageCursor.encode(last.getCreated(), last.getId()),
+                Collections.emptyMap());
+
+        // then
+        Assertions.assertThat(firstPage.size()).isEqualTo(pageSize);
+        Assertions.assertThat(secondPage.size()).isEqualTo(companies.size() / 2 - pageSize);
+        Assertions.assertThat(secondPage).doesNotContainAnyElementsOf(firstPage);
+        Assertions.assertThat(secondPage).noneMatch(company1 -> company1.getIsDeleted().equals(true));
+
+        // clean up
+        deleteAllCompanies(companies);
+    }
+
     @Test
     public void canGetAllCompaniesFilteredByEmail() {
         // given
@@ -248,6 +281,57 @@ public class CompanyDaoTest {
         deleteAllCompanies(companies);
     }
 
+    @Test
+    public void canGetAllCompaniesFilteredByNamePrefix() {
+        // given
+        List<Company> companies = new ArrayList<>();
+        Company company;
+        Company company2;
+        Random random = new Random();
+        for (int i = 0; i < pageSize / 2; i++) {
+            company = generateCompanyWithRandomEmailAndName(random, "prefixed name");
+            company2 = generateCompanyWithRandomEmailAndName(random, "name with prefixed");
+            companies.add(company);
+            companies.add(company2);
+            underTest.save(company);
+            underTest.save(company2);
+        }
+        Map<String, String> nameFilter = new HashMap<>();
+        nameFilter.put("name", "prefixed*");
+
+        // when
+        List<Company> firstPage = underTest.getAll(0, nameFilter);
+
+        // then
+        Assertions.assertThat(firstPage.size()).isEqualTo(pageSize / 2);
+        Assertions.assertThat(firstPage).allMatch(company1 -> company1.getName().startsWith("prefixed"));
+
+        // clean up
+        deleteAllCompanies(companies);
+    }
+
+    @Test
+    public void shouldRankCompaniesByNameSimilarity() {
+        // given
+        Random random = new Random();
+        Company lessSimilar = generateCompanyWithRandomEmailAndName(random, "acme and other corporations");
+        Company mostSimilar = generateCompanyWithRandomEmailAndName(random, "acme corp");
+        underTest.save(lessSimilar);
+        underTest.save(mostSimilar);
+        Map<String, String> nameFilter = new HashMap<>();
+        nameFilter.put("name", "acme");
+
+        // when
+        List<Company> firstPage = underTest.getAll(0, nameFilter);
+
+        // then
+        Assertions.assertThat(firstPage).extracting(Company::getName)
+                .containsExactly(mostSimilar.getName(), lessSimilar.getName());
+
+        // clean up
+        deleteAllCompanies(List.of(lessSimilar, mostSimilar));
+    }
+
     @Test
     public void canUpdateCompany() {
         // given
@@ -0,0 +1,128 @@
+package com.modsensoftware.marketplace.unit;
+
+import com.modsensoftware.marketplace.dao.CompanyDao;
+import com.modsensoftware.marketplace.domain.Company;
+import org.assertj.core.api.Assertions;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static java.time.LocalDateTime.now;
+import static java.time.temporal.ChronoUnit.SECONDS;
+
+/**
+ * @author andrey.demyanchik on 1/30/2023
+ */
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true"
+})
+public class CompanySecondLevelCacheTest {
+
+    @MockBean
+    private JwtDecoder jwtDecoder;
+
+    @Autowired
+    private SessionFactory sessionFactory;
+
+    @Autowired
+    private CompanyDao underTest;
+
+    @Container
+    public static CustomPostgreSQLContainer postgreSQLContainer
+            = CustomPostgreSQLContainer.getInstance();
+    @Container
+    public static RedisContainer redisContainer = RedisContainer.getInstance();
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void shouldServeRepeatedGetByIdFromCache() {
+        // given
+        Company company = generateCompany("cached@email.com");
+        underTest.save(company);
+        sessionFactory.getCache().evictAllRegions();
+
+        // when
+        underTest.get(company.getId());
+        underTest.get(company.getId());
+
+        // then
+        Assertions.assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+        Assertions.assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+
+        // clean up
+        deleteCompany(company);
+    }
+
+    @Test
+    public void shouldResolveEmailThroughNaturalIdCache() {
+        // given
+        Company company = generateCompany("natural@email.com");
+        underTest.save(company);
+        sessionFactory.getCache().evictAllRegions();
+
+        // when
+        boolean existedBefore = underTest.existsByEmail(company.getEmail());
+        boolean existedAgain = underTest.existsByEmail(company.getEmail());
+
+        // then
+        Assertions.assertThat(existedBefore).isTrue();
+        Assertions.assertThat(existedAgain).isTrue();
+        Assertions.assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+
+        // clean up
+        deleteCompany(company);
+    }
+
+    @Test
+    public void shouldNotServeStaleCompanyAfterUpdate() {
+        // given
+        Company company = generateCompany("stale@email.com");
+        underTest.save(company);
+        underTest.get(company.getId());
+        Company updatedFields = new Company(null, "updated name", "fresh@email.com", null, null, null);
+
+        // when
+        underTest.update(company.getId(), updatedFields);
+
+        // then
+        Company updated = underTest.get(company.getId());
+        Assertions.assertThat(updated.getName()).isEqualTo(updatedFields.getName());
+        Assertions.assertThat(underTest.existsByEmail("stale@email.com")).isFalse();
+        Assertions.assertThat(underTest.existsByEmail("fresh@email.com")).isTrue();
+
+        // clean up
+        deleteCompany(updated);
+    }
+
+    private void deleteCompany(Company company) {
+        Session session = sessionFactory.openSession();
+        Transaction transaction = session.beginTransaction();
+        session.delete(company);
+        transaction.commit();
+        session.close();
+    }
+
+    private Company generateCompany(String email) {
+        return new Company(null, "name", email, now().truncatedTo(SECONDS), "description", false);
+    }
+}
@@ -4,6 +4,7 @@ import com.modsensoftware.marketplace.dao.CompanyDao;
 import com.modsensoftware.marketplace.domain.Company;
 import com.modsensoftware.marketplace.dto.CompanyRequest;
 import com.modsensoftware.marketplace.dto.CompanyMapper;
+import com.modsensoftware.marketplace.dto.CompanyResponse;
 import com.modsensoftware.marketplace.exception.EntityAlreadyExistsException;
 import com.modsensoftware.marketplace.service.CompanyServiceImpl;
 import org.assertj.core.api.Assertions;
@@ -18,6 +19,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -57,6 +59,24 @@ public class CompanyServiceTest {
         BDDMockito.verify(companyDao).getAll(pageNumber, filterProps);
     }
 
+    @Test
+    public void canGetCompaniesByIdsWithSingleQuery() {
+        // given
+        List<Long> ids = List.of(1L, 1000L);
+        Company first = new Company();
+        first.setId(1L);
+        Company second = new Company();
+        second.setId(1000L);
+        BDDMockito.given(companyDao.getAllByIds(ids)).willReturn(List.of(first, second));
+
+        // when
+        List<CompanyResponse> companies = underTest.getCompaniesByIds(ids);
+
+        // then
+        BDDMockito.verify(companyDao).getAllByIds(ids);
+        Assertions.assertThat(companies).extracting(CompanyResponse::getId).containsExactly(1L, 1000L);
+    }
+
     @Test
     public void canCreateCompany() {
         // given
@@ -0,0 +1,70 @@
+package com.modsensoftware.marketplace.unit;
+
+import com.modsensoftware.marketplace.persistence.HikariPoolSettings;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * @author andrey.demyanchik on 1/30/2023
+ */
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class SessionFactoryPoolTest {
+
+    @MockBean
+    private JwtDecoder jwtDecoder;
+
+    @Autowired
+    private SessionFactory sessionFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Container
+    public static CustomPostgreSQLContainer postgreSQLContainer
+            = CustomPostgreSQLContainer.getInstance();
+    @Container
+    public static RedisContainer redisContainer = RedisContainer.getInstance();
+
+    @Value("${spring.datasource.hikari.maximum-pool-size}")
+    private int maximumPoolSize;
+
+    @Test
+    public void shouldConfigurePoolFromHikariProperties() {
+        // when
+        HikariDataSource dataSource = sessionFactory.getSessionFactoryOptions().getServiceRegistry()
+                .getService(ConnectionProvider.class)
+                .unwrap(HikariDataSource.class);
+
+        // then
+        Assertions.assertThat(dataSource.getPoolName()).isEqualTo(HikariPoolSettings.POOL_NAME);
+        Assertions.assertThat(dataSource.getMaximumPoolSize()).isEqualTo(maximumPoolSize);
+    }
+
+    @Test
+    public void shouldPublishPoolMetrics() {
+        // when
+        Gauge maxConnections = meterRegistry.find("hikaricp.connections.max")
+                .tag("pool", HikariPoolSettings.POOL_NAME)
+                .gauge();
+
+        // then
+        Assertions.assertThat(maxConnections).isNotNull();
+        Assertions.assertThat(maxConnections.value()).isEqualTo(maximumPoolSize);
+        Assertions.assertThat(meterRegistry.find("hikaricp.connections.active")
+                .tag("pool", HikariPoolSettings.POOL_NAME)
+                .gauge()).isNotNull();
+    }
+}
@@ -12,4 +12,18 @@ create table company_service.company
         primary key (id),
     constraint company_email_key
         unique (email)
-);
\ No newline at end of file
+);
+
+create index company_created_id_idx
+    on company_service.company (created, id);
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+create index company_email_trgm_idx
+    on company_service.company using gin (email gin_trgm_ops);
+create index company_name_trgm_idx
+    on company_service.company using gin (name gin_trgm_ops);
+create index company_email_pattern_idx
+    on company_service.company (email varchar_pattern_ops);
+create index company_name_pattern_idx
+    on company_service.company (name varchar_pattern_ops);
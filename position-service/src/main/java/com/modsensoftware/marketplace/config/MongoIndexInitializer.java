@@ -0,0 +1,89 @@
+package com.modsensoftware.marketplace.config;
+
+import com.modsensoftware.marketplace.domain.Category;
+import com.modsensoftware.marketplace.domain.Item;
+import com.modsensoftware.marketplace.domain.Position;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.modsensoftware.marketplace.constants.Constants.POSITIONS_TEXT_INDEX_NAME;
+
+/**
+ * Ensures indexes backing the queries of position-service DAOs.
+ * Creating an already existing index is a no-op, so the indexes
+ * are ensured on every startup.
+ *
+ * @author andrey.demyanchik on 1/30/2023
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MongoIndexInitializer {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    private static final float ITEM_NAME_WEIGHT = 10F;
+    private static final float CATEGORY_NAME_WEIGHT = 5F;
+    private static final float ITEM_DESCRIPTION_WEIGHT = 1F;
+
+    /**
+     * Catalogue search index. Matches in item names
+     * are ranked higher than matches in descriptions.
+     */
+    public static TextIndexDefinition positionsTextIndex() {
+        return new TextIndexDefinition.TextIndexDefinitionBuilder()
+                .named(POSITIONS_TEXT_INDEX_NAME)
+                .onField("item.name", ITEM_NAME_WEIGHT)
+                .onField("item.category.name", CATEGORY_NAME_WEIGHT)
+                .onField("item.description", ITEM_DESCRIPTION_WEIGHT)
+                .build();
+    }
+
+    public static Map<Class<?>, List<IndexDefinition>> indexDefinitions() {
+        return Map.of(
+                Position.class, List.of(
+                        positionsTextIndex(),
+                        new Index().on(Position.ITEM_ID_FIELD_NAME, Sort.Direction.ASC),
+                        new Index().on(Position.ITEM_CATEGORY_ID_FIELD_NAME, Sort.Direction.ASC),
+                        new Index().on(Position.ITEM_CATEGORY_ANCESTORS_FIELD_NAME, Sort.Direction.ASC),
+                        new Index().on(Position.COMPANY_ID_FIELD_NAME, Sort.Direction.ASC),
+                        new Index().on(Position.CREATED_BY_FIELD_NAME, Sort.Direction.ASC),
+                        new Index().on(Position.CREATED_FIELD_NAME, Sort.Direction.DESC)
+                ),
+                Item.class, List.of(
+                        new Index().on(Item.CATEGORY_ID_FIELD_NAME, Sort.Direction.ASC),
+                        new Index().on(Item.CREATED_FIELD_NAME, Sort.Direction.DESC)
+                ),
+                Category.class, List.of(
+                        new Index().on(Category.ANCESTORS_FIELD_NAME, Sort.Direction.ASC)
+                )
+        );
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        createIndexes().subscribe(name -> log.info("Ensured index {}", name),
+                error -> log.error("Could not ensure indexes", error));
+    }
+
+    /**
+     * @return names of the ensured indexes
+     */
+    public Flux<String> createIndexes() {
+        return Flux.fromIterable(indexDefinitions().entrySet())
+                .concatMap(entityIndexes -> Flux.fromIterable(entityIndexes.getValue())
+                        .concatMap(index -> reactiveMongoTemplate.indexOps(entityIndexes.getKey()).ensureIndex(index)));
+    }
+}
@@ -13,8 +13,12 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactivefeign.client.ReactiveHttpRequest;
 import reactivefeign.client.ReactiveHttpRequestInterceptor;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
 import reactor.core.publisher.Mono;
 
+import javax.annotation.PreDestroy;
+import java.time.Duration;
 import java.util.List;
 
 import static java.lang.String.format;
@@ -29,6 +33,7 @@ public class ReactiveFeignClientInterceptor implements ReactiveHttpRequestInterc
 
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER = "Bearer";
+    private static final long MIN_REFRESH_DELAY_SECONDS = 1;
     @Value("${reactive-feign.oauth2.client.provider.USER-SERVICE.token-uri}")
     private String providerUri;
     @Value("${reactive-feign.oauth2.client.registration.USER-SERVICE.client-id}")
@@ -38,27 +43,99 @@ public class ReactiveFeignClientInterceptor implements ReactiveHttpRequestInterc
     @Value("${reactive-feign.oauth2.client.registration.USER-SERVICE.authorization-grant-type}")
     private String authorizationGrantType;
 
-    private final WebClient webClient = WebClient.create();
+    @Value("${reactive-feign.oauth2.client.token-expiry-skew-seconds}")
+    private long tokenExpirySkewSeconds;
+
+    private final WebClient webClient;
+
+    /**
+     * Cached access token shared by all outgoing requests. Concurrent subscribers
+     * of the cached {@link Mono} wait for the same in-flight token request.
+     */
+    private volatile Mono<AccessTokenResponse> accessToken = cachedAccessToken();
+    private final Disposable.Swap scheduledRefresh = Disposables.swap();
+
+    public ReactiveFeignClientInterceptor(WebClient.Builder webClientBuilder) {
+        this.webClient = webClientBuilder.build();
+    }
 
     @Override
     public Mono<ReactiveHttpRequest> apply(ReactiveHttpRequest reactiveHttpRequest) {
-        log.trace("Fetching access token for request from SSO");
-        MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
-        formData.add("client_id", clientId);
-        formData.add("client_secret", clientSecret);
-        formData.add("grant_type", authorizationGrantType);
-        Mono<AccessTokenResponse> accessTokenResponseMono = webClient
-                .method(HttpMethod.POST)
-                .uri(providerUri)
-                .bodyValue(formData)
-                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED_VALUE)
-                .retrieve()
-                .bodyToMono(AccessTokenResponse.class);
-        return accessTokenResponseMono.flatMap(accessTokenResponse -> Mono.just(reactiveHttpRequest)
-                .flatMap(request -> {
-                    log.trace("Fetched access token successfully");
-                    request.headers().put(AUTHORIZATION_HEADER, List.of(format("%s %s", BEARER, accessTokenResponse.getToken())));
-                    return Mono.just(request);
+        return accessToken.map(accessTokenResponse -> {
+            reactiveHttpRequest.headers().put(AUTHORIZATION_HEADER,
+                    List.of(format("%s %s", BEARER, accessTokenResponse.getToken())));
+            return reactiveHttpRequest;
+        });
+    }
+
+    @PreDestroy
+    public void cancelScheduledRefresh() {
+        scheduledRefresh.dispose();
+    }
+
+    private Mono<AccessTokenResponse> cachedAccessToken() {
+        return requestAccessToken()
+                .doOnNext(this::scheduleRefresh)
+                .cache(this::cacheTtl,
+                        error -> Duration.ZERO,
+                        () -> Duration.ZERO);
+    }
+
+    /**
+     * The token is cached until {@link #tokenExpirySkewSeconds} before it expires.
+     * Tokens living no longer than the skew are cached for the same time as
+     * the delay of their refresh instead of not being cached at all.
+     */
+    private Duration cacheTtl(AccessTokenResponse accessTokenResponse) {
+        long expiresIn = accessTokenResponse.getExpiresIn();
+        long ttlSeconds = expiresIn - tokenExpirySkewSeconds;
+        return Duration.ofSeconds(ttlSeconds > 0 ? ttlSeconds : shortLivedTokenDelaySeconds(expiresIn));
+    }
+
+    /**
+     * Refreshes the token in the background before the cached one expires,
+     * so requests do not have to wait for the token endpoint. If the token lives
+     * no longer than twice the skew, it is refreshed halfway through its lifetime,
+     * but not sooner than in {@link #MIN_REFRESH_DELAY_SECONDS}, so short-lived
+     * tokens do not turn the refresh into a busy loop.
+     */
+    private void scheduleRefresh(AccessTokenResponse accessTokenResponse) {
+        long expiresIn = accessTokenResponse.getExpiresIn();
+        long refreshDelaySeconds = expiresIn - 2 * tokenExpirySkewSeconds;
+        if (refreshDelaySeconds <= 0) {
+            refreshDelaySeconds = shortLivedTokenDelaySeconds(expiresIn);
+            log.warn("Token expiry skew of {} seconds is too large for access tokens expiring in {} seconds. "
+                    + "Refreshing access token in {} seconds", tokenExpirySkewSeconds, expiresIn, refreshDelaySeconds);
+        }
+        log.trace("Scheduling access token refresh in {} seconds", refreshDelaySeconds);
+        scheduledRefresh.update(Mono.delay(Duration.ofSeconds(refreshDelaySeconds))
+                .subscribe(tick -> {
+                    Mono<AccessTokenResponse> refreshed = cachedAccessToken();
+                    refreshed.subscribe(
+                            refreshedResponse -> accessToken = refreshed,
+                            error -> log.error("Failed to refresh access token in background", error)
+                    );
                 }));
     }
+
+    private static long shortLivedTokenDelaySeconds(long expiresIn) {
+        return Math.max(expiresIn / 2, MIN_REFRESH_DELAY_SECONDS);
+    }
+
+    private Mono<AccessTokenResponse> requestAccessToken() {
+        return Mono.defer(() -> {
+            log.trace("Fetching access token from SSO");
+            MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
+            formData.add("client_id", clientId);
+            formData.add("client_secret", clientSecret);
+            formData.add("grant_type", authorizationGrantType);
+            return webClient
+                    .method(HttpMethod.POST)
+                    .uri(providerUri)
+                    .bodyValue(formData)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+                    .retrieve()
+                    .bodyToMono(AccessTokenResponse.class);
+        }).doOnNext(accessTokenResponse -> log.trace("Fetched access token successfully"));
+    }
 }
@@ -1,6 +1,8 @@
 package com.modsensoftware.marketplace.config;
 
 import com.modsensoftware.marketplace.dto.PlacedUserTransaction;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,6 +12,7 @@ import reactor.kafka.receiver.ReceiverOptions;
 import reactor.kafka.sender.SenderOptions;
 
 import java.util.Collections;
+import java.util.Map;
 
 /**
  * @author andrey.demyanchik on 1/5/2023
@@ -17,6 +20,11 @@ import java.util.Collections;
 @Configuration
 public class ReactiveKafkaConfig {
 
+    @Value("${topics.transactionsPlacedForProcessing.name}")
+    private String userTransactionProcessingTopicName;
+    @Value("${topics.transactionsPlacedForProcessing.groupId}")
+    private String userTransactionProcessingGroupId;
+
     @Bean
     public ReactiveKafkaProducerTemplate<String, PlacedUserTransaction> reactiveKafkaProducerTemplate(
             KafkaProperties properties) {
@@ -25,9 +33,13 @@ public class ReactiveKafkaConfig {
 
     @Bean
     public ReceiverOptions<String, PlacedUserTransaction> kafkaReceiverOptions(KafkaProperties properties) {
+        Map<String, Object> consumerProperties = properties.buildConsumerProperties();
+        consumerProperties.put(ConsumerConfig.GROUP_ID_CONFIG, userTransactionProcessingGroupId);
+        // Offsets are committed by the consumer itself once the transaction status is published
+        consumerProperties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
         ReceiverOptions<String, PlacedUserTransaction> basicReceiverOptions = ReceiverOptions
-                .create(properties.buildConsumerProperties());
-        return basicReceiverOptions.subscription(Collections.singletonList("userTransactionProcessing"));
+                .create(consumerProperties);
+        return basicReceiverOptions.subscription(Collections.singletonList(userTransactionProcessingTopicName));
     }
 
     @Bean
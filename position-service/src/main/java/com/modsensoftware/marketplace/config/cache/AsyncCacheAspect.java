@@ -4,7 +4,8 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.modsensoftware.marketplace.domain.Category;
 import com.modsensoftware.marketplace.domain.Item;
-import com.modsensoftware.marketplace.dto.response.PositionResponseDto;
+import com.modsensoftware.marketplace.dto.response.PositionResponse;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -13,7 +14,22 @@ import org.aspectj.lang.annotation.Pointcut;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.data.redis.connection.ReactiveKeyCommands.ExpireCommand;
+import org.springframework.data.redis.connection.ReactiveSetCommands.SAddCommand;
+import org.springframework.data.redis.connection.ReactiveStringCommands.SetCommand;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -21,10 +37,21 @@ import reactor.core.publisher.Mono;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static com.modsensoftware.marketplace.constants.Constants.CATEGORIES_CACHE_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.ITEMS_CACHE_NAME;
@@ -42,29 +69,62 @@ import static com.modsensoftware.marketplace.constants.Constants.SINGLE_POSITION
 public class AsyncCacheAspect {
 
     private final ReactiveRedisTemplate<String, Object> redisTemplate;
-    private final Map<Class<?>, Integer> classTtlMap = new HashMap<>();
+    private final NearCache nearCache;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Integer> cacheNameTtlMap = new HashMap<>();
+    private final Map<String, String> listEntryCacheNameMap = new HashMap<>();
+    private final Map<String, Function<Object, String>> cacheNameIdExtractorMap = new HashMap<>();
     private final Map<String, TypeReference<?>> cacheNameTypeRefMap = new HashMap<>();
+    private final Map<String, Mono<Object>> inFlightLoads = new ConcurrentHashMap<>();
+    private final Set<String> refreshingKeys = ConcurrentHashMap.newKeySet();
+    private final Map<String, Duration> loadDurations = new ConcurrentHashMap<>();
+    private final AtomicInteger writesInFlight = new AtomicInteger();
+
+    @Value("${cache.early-refresh.enabled}")
+    private boolean earlyRefreshEnabled;
+    @Value("${cache.early-refresh.beta}")
+    private double earlyRefreshBeta;
+    @Value("${cache.write.max-in-flight}")
+    private int maxWritesInFlight;
 
     private static final String CACHE_KEY_DELIMITER = "::";
     private static final String KEY_PATTERN = "#p";
-    private static final String CACHE_NAME_SPLIT_REGEX = "::.*";
-    private static final String DEFAULT_TEMP_VALUE_IF_CACHE_NOT_FOUND = "cacheNotFound";
+    private static final String TAG_KEY_PREFIX = "tag::";
+    private static final String SKIPPED_WRITES_METER_NAME = "cache.writes.skipped";
+    private static final String CACHE_NAME_TAG = "cache";
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().findAndRegisterModules();
+    private static final ExpressionParser EXPRESSION_PARSER = new SpelExpressionParser();
+    private static final ParameterNameDiscoverer PARAMETER_NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
 
     @Autowired
     public AsyncCacheAspect(ReactiveRedisTemplate<String, Object> redisTemplate,
+                            NearCache nearCache,
+                            MeterRegistry meterRegistry,
                             @Value("${cache.category.ttl-seconds}") int categoryTtlSeconds,
                             @Value("${cache.item.ttl-seconds}") int itemTtlSeconds,
                             @Value("${cache.position.ttl-seconds}") int positionTtlSeconds) {
         this.redisTemplate = redisTemplate;
+        this.nearCache = nearCache;
+        this.meterRegistry = meterRegistry;
+
+        cacheNameTtlMap.put(SINGLE_POSITION_CACHE_NAME, positionTtlSeconds);
+        cacheNameTtlMap.put(POSITIONS_CACHE_NAME, positionTtlSeconds);
+        cacheNameTtlMap.put(SINGLE_CATEGORY_CACHE_NAME, categoryTtlSeconds);
+        cacheNameTtlMap.put(CATEGORIES_CACHE_NAME, categoryTtlSeconds);
+        cacheNameTtlMap.put(SINGLE_ITEM_CACHE_NAME, itemTtlSeconds);
+        cacheNameTtlMap.put(ITEMS_CACHE_NAME, itemTtlSeconds);
 
-        classTtlMap.put(Category.class, categoryTtlSeconds);
-        classTtlMap.put(Item.class, itemTtlSeconds);
-        classTtlMap.put(PositionResponseDto.class, positionTtlSeconds);
+        // Entries of the loaded pages are cached under the single entity caches as well
+        listEntryCacheNameMap.put(POSITIONS_CACHE_NAME, SINGLE_POSITION_CACHE_NAME);
+        listEntryCacheNameMap.put(CATEGORIES_CACHE_NAME, SINGLE_CATEGORY_CACHE_NAME);
+        listEntryCacheNameMap.put(ITEMS_CACHE_NAME, SINGLE_ITEM_CACHE_NAME);
+        cacheNameIdExtractorMap.put(SINGLE_POSITION_CACHE_NAME, position -> ((PositionResponse) position).getId());
+        cacheNameIdExtractorMap.put(SINGLE_CATEGORY_CACHE_NAME, category -> ((Category) category).getId());
+        cacheNameIdExtractorMap.put(SINGLE_ITEM_CACHE_NAME, item -> ((Item) item).getId());
 
-        cacheNameTypeRefMap.put(SINGLE_POSITION_CACHE_NAME, new TypeReference<PositionResponseDto>() {
+        cacheNameTypeRefMap.put(SINGLE_POSITION_CACHE_NAME, new TypeReference<PositionResponse>() {
         });
-        cacheNameTypeRefMap.put(POSITIONS_CACHE_NAME, new TypeReference<List<PositionResponseDto>>() {
+        cacheNameTypeRefMap.put(POSITIONS_CACHE_NAME, new TypeReference<List<PositionResponse>>() {
         });
         cacheNameTypeRefMap.put(SINGLE_CATEGORY_CACHE_NAME, new TypeReference<Category>() {
         });
@@ -74,6 +134,8 @@ public class AsyncCacheAspect {
         });
         cacheNameTypeRefMap.put(ITEMS_CACHE_NAME, new TypeReference<List<Item>>() {
         });
+
+        cacheNameTtlMap.forEach(nearCache::register);
     }
 
     @Pointcut("@annotation(AsyncCacheable)")
@@ -81,6 +143,12 @@ public class AsyncCacheAspect {
 
     }
 
+    @Pointcut("@annotation(org.springframework.cache.annotation.CacheEvict) "
+            + "|| @annotation(org.springframework.cache.annotation.Caching)")
+    public void pointcutCacheEvict() {
+
+    }
+
     @Around("pointcutCacheable()")
     public Object cacheable(ProceedingJoinPoint joinPoint) {
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
@@ -99,72 +167,291 @@ public class AsyncCacheAspect {
         }
 
         String redisKey = evaluateKey(asyncCacheable, joinPoint, cacheName);
-        Mono<Object> mono = redisTemplate.opsForValue().get(redisKey)
-                .defaultIfEmpty(DEFAULT_TEMP_VALUE_IF_CACHE_NOT_FOUND);
+        boolean isFlux = rawType.equals(Flux.class);
+        Mono<Object> cached = Mono.defer(() -> {
+            Object localValue = nearCache.get(cacheName, redisKey);
+            if (localValue != null) {
+                log.debug("Found locally cached value");
+                return Mono.just(localValue);
+            }
+            return singleFlight(redisKey, () -> loadThroughRedis(joinPoint, cacheName, redisKey, isFlux));
+        });
         // In case method return type is Mono
-        if (rawType.equals(Mono.class)) {
-            return mono.flatMap(value -> {
-                if (value.toString().equals(DEFAULT_TEMP_VALUE_IF_CACHE_NOT_FOUND)) {
-                    try {
-                        log.debug("Could not find cached value. Will proceed with execution and try to cache the result");
-                        return ((Mono<?>) joinPoint.proceed())
-                                .map(result -> {
-                                    cacheValue(redisKey, result);
-                                    return result;
-                                });
-                    } catch (Throwable cause) {
-                        return Mono.error(new RuntimeException("Something went wrong "
-                                + "while attempting to proceed method execution", cause));
-                    }
-                }
-                log.debug("Found cached value");
-                return Mono.just(OBJECT_MAPPER.convertValue(value,
-                        cacheNameTypeRefMap.get(redisKey.split(CACHE_NAME_SPLIT_REGEX)[0])));
-            });
+        if (!isFlux) {
+            return cached;
         }
         // In case method return type is Flux
-        return Flux.from(mono).flatMap(values -> {
-            if (values.toString().equals(DEFAULT_TEMP_VALUE_IF_CACHE_NOT_FOUND)) {
-                try {
-                    log.debug("Could not find cached value. Will proceed with execution and try to cache the result");
-                    return ((Flux<?>) joinPoint.proceed())
-                            .collectList()
-                            .map(result -> {
-                                cacheValue(redisKey, result);
-                                return result;
-                            }).flatMapMany(Flux::fromIterable);
-                } catch (Throwable cause) {
-                    return Flux.error(new RuntimeException("Something went wrong "
-                            + "while attempting to proceed method execution", cause));
-                }
+        return cached.flatMapMany(values -> Flux.fromIterable((Iterable<?>) values));
+    }
+
+    /**
+     * Evicts entries of this and all the other instances once the returned publisher terminates,
+     * so that a value read concurrently with the modification does not stay cached.
+     * Keys evicted from page caches are ids of the modified entities, only the pages
+     * tagged with these ids are evicted. Keys may be collections of keys or ids.
+     */
+    @SuppressWarnings("unchecked")
+    @Around("pointcutCacheEvict()")
+    public Object cacheEvict(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        List<CacheEvict> cacheEvicts = new ArrayList<>();
+        CacheEvict cacheEvict = method.getAnnotation(CacheEvict.class);
+        if (cacheEvict != null) {
+            cacheEvicts.add(cacheEvict);
+        }
+        Caching caching = method.getAnnotation(Caching.class);
+        if (caching != null) {
+            cacheEvicts.addAll(Arrays.asList(caching.evict()));
+        }
+        Mono<Void> evictions = evaluateEvictions(cacheEvicts, joinPoint, method)
+                .onErrorResume(error -> {
+                    log.error("Could not evict cached values", error);
+                    return Mono.empty();
+                });
+
+        Object result = joinPoint.proceed();
+        if (result instanceof Mono) {
+            return ((Mono<Object>) result).materialize()
+                    .flatMap(signal -> evictions.thenReturn(signal))
+                    .dematerialize();
+        }
+        if (result instanceof Flux) {
+            return ((Flux<Object>) result).materialize()
+                    .concatMap(signal -> signal.isOnNext() ? Mono.just(signal) : evictions.thenReturn(signal))
+                    .dematerialize();
+        }
+        evictions.subscribe();
+        return result;
+    }
+
+    /**
+     * Caches the value with a single atomic SET ... EX. Entries of a page are also cached
+     * under the corresponding single entity cache and the page key is added to the tag set
+     * of every entry. The commands are issued concurrently, so the connection pipelines them
+     * instead of waiting for every reply: a page takes two round trips, as a tag set is only
+     * expired once the page key is added to it.
+     * Once too many writes are in flight the value is not cached at all, skipped writes
+     * are counted by the cache.writes.skipped meter.
+     */
+    private Mono<Void> cacheValue(String cacheName, String key, Object value) {
+        Integer cacheTtl = cacheNameTtlMap.get(cacheName);
+        if (cacheTtl == null) {
+            log.error("Could not cache value of cache {} as no ttl is provided for it", cacheName);
+            return Mono.empty();
+        }
+        if (writesInFlight.incrementAndGet() > maxWritesInFlight) {
+            writesInFlight.decrementAndGet();
+            log.warn("Too many cache writes in flight. Result of {} will not be cached", key);
+            meterRegistry.counter(SKIPPED_WRITES_METER_NAME, CACHE_NAME_TAG, cacheName).increment();
+            return Mono.empty();
+        }
+        RedisSerializationContext<String, Object> serializationContext = redisTemplate.getSerializationContext();
+        List<SetCommand> commands = new ArrayList<>();
+        List<SAddCommand> tagCommands = new ArrayList<>();
+        List<ExpireCommand> tagExpireCommands = new ArrayList<>();
+        commands.add(setCommand(serializationContext, key, value, cacheTtl));
+        String entryCacheName = listEntryCacheNameMap.get(cacheName);
+        if (entryCacheName != null) {
+            Function<Object, String> idExtractor = cacheNameIdExtractorMap.get(entryCacheName);
+            Integer entryCacheTtl = cacheNameTtlMap.get(entryCacheName);
+            ByteBuffer pageKey = serializationContext.getValueSerializationPair().write(key);
+            for (Object entry : (List<?>) value) {
+                String id = idExtractor.apply(entry);
+                String entryKey = entryCacheName + CACHE_KEY_DELIMITER + id;
+                commands.add(setCommand(serializationContext, entryKey, entry, entryCacheTtl));
+                nearCache.put(entryCacheName, entryKey, entry);
+                ByteBuffer tagKey = serializationContext.getKeySerializationPair().write(tagKey(cacheName, id));
+                tagCommands.add(SAddCommand.values(List.of(pageKey.duplicate())).to(tagKey));
+                tagExpireCommands.add(ExpireCommand.key(tagKey.duplicate()).timeout(Duration.ofSeconds(cacheTtl)));
+            }
+        }
+        // Tag sets live as long as the pages added to them
+        return redisTemplate.execute(connection -> Flux.merge(
+                        Flux.fromIterable(commands)
+                                .flatMap(command -> connection.stringCommands().set(Mono.just(command)))
+                                .doOnNext(response -> {
+                                    if (!Boolean.TRUE.equals(response.getOutput())) {
+                                        log.error("Could not cache result of the operation");
+                                    }
+                                }).then(),
+                        Flux.range(0, tagCommands.size())
+                                .flatMap(i -> connection.setCommands().sAdd(Mono.just(tagCommands.get(i)))
+                                        .thenMany(connection.keyCommands().expire(Mono.just(tagExpireCommands.get(i)))))
+                                .then()))
+                .doFinally(signal -> writesInFlight.decrementAndGet())
+                .then()
+                .doOnSuccess(ignored -> log.debug("Result cached"));
+    }
+
+    private SetCommand setCommand(RedisSerializationContext<String, Object> serializationContext,
+                                  String key, Object value, int ttlSeconds) {
+        return SetCommand.set(serializationContext.getKeySerializationPair().write(key))
+                .value(serializationContext.getValueSerializationPair().write(value))
+                .expiring(Expiration.seconds(ttlSeconds))
+                .withSetOption(SetOption.upsert());
+    }
+
+    /**
+     * Concurrent misses of the same key share a single load,
+     * so that an expired entry does not cause a stampede.
+     */
+    private Mono<Object> singleFlight(String redisKey, Supplier<Mono<Object>> loader) {
+        return inFlightLoads.computeIfAbsent(redisKey, key -> loader.get()
+                .doFinally(signal -> inFlightLoads.remove(key))
+                .cache());
+    }
+
+    private Mono<Object> loadThroughRedis(ProceedingJoinPoint joinPoint, String cacheName,
+                                          String redisKey, boolean isFlux) {
+        TypeReference<?> typeReference = cacheNameTypeRefMap.get(cacheName);
+        Mono<Object> remoteValue = redisTemplate.opsForValue().get(redisKey)
+                .map(value -> {
+                    log.debug("Found cached value");
+                    Object converted = OBJECT_MAPPER.convertValue(value, typeReference);
+                    nearCache.put(cacheName, redisKey, converted);
+                    return converted;
+                });
+        if (earlyRefreshEnabled) {
+            remoteValue = remoteValue.zipWith(redisTemplate.getExpire(redisKey).defaultIfEmpty(Duration.ZERO),
+                    (value, ttl) -> {
+                        if (shouldRefreshEarly(cacheName, ttl)) {
+                            refreshEarly(joinPoint, cacheName, redisKey, isFlux);
+                        }
+                        return value;
+                    });
+        }
+        return remoteValue.switchIfEmpty(Mono.defer(() -> {
+            log.debug("Could not find cached value. Will proceed with execution and try to cache the result");
+            return proceed(joinPoint, cacheName, redisKey, isFlux);
+        }));
+    }
+
+    private Mono<Object> proceed(ProceedingJoinPoint joinPoint, String cacheName,
+                                 String redisKey, boolean isFlux) {
+        long start = System.nanoTime();
+        Mono<Object> result;
+        try {
+            if (isFlux) {
+                result = ((Flux<?>) joinPoint.proceed()).collectList().map(Object.class::cast);
+            } else {
+                result = ((Mono<?>) joinPoint.proceed()).map(Object.class::cast);
             }
-            log.debug("Found cached value");
-            return Flux.fromIterable((Iterable<?>) OBJECT_MAPPER.convertValue(values,
-                    cacheNameTypeRefMap.get(redisKey.split(CACHE_NAME_SPLIT_REGEX)[0])));
+        } catch (Throwable cause) {
+            return Mono.error(new RuntimeException("Something went wrong "
+                    + "while attempting to proceed method execution", cause));
+        }
+        return result.flatMap(value -> {
+            loadDurations.put(cacheName, Duration.ofNanos(System.nanoTime() - start));
+            nearCache.put(cacheName, redisKey, value);
+            return cacheValue(cacheName, redisKey, value)
+                    .onErrorResume(error -> {
+                        log.error("Could not cache result of the operation", error);
+                        return Mono.empty();
+                    })
+                    .thenReturn(value);
         });
     }
 
-    private void cacheValue(String key, Object value) {
-        Integer cacheTtl;
-        if (value instanceof List) {
-            cacheTtl = classTtlMap.get(((List<?>) value).get(0).getClass());
-        } else {
-            cacheTtl = classTtlMap.get(value.getClass());
+    /**
+     * Probabilistic early expiration: the closer the entry is to its expiry and the
+     * longer it takes to compute the value, the more likely it is refreshed.
+     */
+    private boolean shouldRefreshEarly(String cacheName, Duration ttl) {
+        Duration loadDuration = loadDurations.get(cacheName);
+        if (ttl.isZero() || ttl.isNegative() || loadDuration == null) {
+            return false;
+        }
+        double gap = -loadDuration.toMillis() * earlyRefreshBeta * Math.log(ThreadLocalRandom.current().nextDouble());
+        return gap >= ttl.toMillis();
+    }
+
+    private void refreshEarly(ProceedingJoinPoint joinPoint, String cacheName,
+                              String redisKey, boolean isFlux) {
+        if (!refreshingKeys.add(redisKey)) {
+            return;
         }
-        if (cacheTtl != null) {
-            redisTemplate.opsForValue().set(key, value).map(isSuccess -> {
-                if (isSuccess) {
-                    return redisTemplate.expire(key, Duration.ofSeconds(cacheTtl)).subscribe();
+        log.debug("Refreshing cached value {} before its expiry", redisKey);
+        proceed(joinPoint, cacheName, redisKey, isFlux)
+                .doFinally(signal -> refreshingKeys.remove(redisKey))
+                .subscribe(value -> log.debug("Refreshed cached value {}", redisKey),
+                        error -> log.error("Could not refresh cached value {}", redisKey, error));
+    }
+
+    private Mono<Void> evaluateEvictions(List<CacheEvict> cacheEvicts, ProceedingJoinPoint joinPoint, Method method) {
+        List<Mono<Void>> evictions = new ArrayList<>();
+        for (CacheEvict cacheEvict : cacheEvicts) {
+            String[] cacheNames = cacheEvict.cacheNames().length > 0 ? cacheEvict.cacheNames() : cacheEvict.value();
+            if (cacheEvict.allEntries()) {
+                for (String cacheName : cacheNames) {
+                    evictions.add(evictAllEntries(cacheName));
+                }
+                continue;
+            }
+            EvaluationContext context = new MethodBasedEvaluationContext(joinPoint.getTarget(), method,
+                    joinPoint.getArgs(), PARAMETER_NAME_DISCOVERER);
+            Object key = EXPRESSION_PARSER.parseExpression(cacheEvict.key()).getValue(context);
+            List<String> keys = new ArrayList<>();
+            if (key instanceof Collection) {
+                ((Collection<?>) key).forEach(element -> keys.add(String.valueOf(element)));
+            } else {
+                keys.add(String.valueOf(key));
+            }
+            for (String cacheName : cacheNames) {
+                if (listEntryCacheNameMap.containsKey(cacheName)) {
+                    evictions.add(evictTaggedPages(cacheName, keys));
                 } else {
-                    log.error("Could not cache result of the operation");
-                    return Mono.just(Boolean.FALSE);
+                    evictions.add(evictEntries(cacheName, keys));
                 }
-            }).subscribe();
-            log.info("Result cached");
-        } else {
-            log.error("Could not cache value of class {} as no ttl "
-                    + "is provided for instances of type", value.getClass());
+            }
         }
+        return Mono.when(evictions);
+    }
+
+    private Mono<Void> evictEntries(String cacheName, List<String> keys) {
+        return Mono.defer(() -> {
+            keys.forEach(key -> nearCache.evict(cacheName, key));
+            return redisTemplate.delete(Flux.fromIterable(keys)
+                    .map(key -> cacheName + CACHE_KEY_DELIMITER + key));
+        }).then();
+    }
+
+    /**
+     * Evicts all the entries of the cache together with tag sets of its pages.
+     * Keys are collected with SCAN, so redis is not blocked while they are looked up.
+     */
+    private Mono<Void> evictAllEntries(String cacheName) {
+        return Mono.defer(() -> {
+            nearCache.evict(cacheName, null);
+            return redisTemplate.delete(Flux.concat(
+                    redisTemplate.scan(ScanOptions.scanOptions().match(cacheName + CACHE_KEY_DELIMITER + "*").build()),
+                    redisTemplate.scan(ScanOptions.scanOptions().match(tagKey(cacheName, "*")).build())));
+        }).then();
+    }
+
+    /**
+     * Evicts only the pages which contain at least one of the entities.
+     */
+    private Mono<Void> evictTaggedPages(String cacheName, List<String> ids) {
+        List<String> tagKeys = ids.stream()
+                .map(id -> tagKey(cacheName, id))
+                .collect(Collectors.toList());
+        return Flux.fromIterable(tagKeys)
+                .flatMap(tagKey -> redisTemplate.opsForSet().members(tagKey))
+                .map(String::valueOf)
+                .collect(Collectors.toSet())
+                .flatMap(pageKeys -> {
+                    log.debug("Evicting pages {} tagged with ids {}", pageKeys, ids);
+                    pageKeys.forEach(pageKey -> nearCache.evict(cacheName,
+                            pageKey.substring(cacheName.length() + CACHE_KEY_DELIMITER.length())));
+                    List<String> keys = new ArrayList<>(pageKeys);
+                    keys.addAll(tagKeys);
+                    return redisTemplate.delete(Flux.fromIterable(keys));
+                })
+                .then();
+    }
+
+    private String tagKey(String cacheName, String id) {
+        return TAG_KEY_PREFIX + cacheName + CACHE_KEY_DELIMITER + id;
     }
 
     private String evaluateKey(AsyncCacheable asyncCacheable,
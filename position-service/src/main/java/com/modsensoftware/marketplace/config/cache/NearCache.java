@@ -0,0 +1,134 @@
+package com.modsensoftware.marketplace.config.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.util.retry.Retry;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process cache placed in front of redis. Entries are bounded by weight
+ * and never outlive the redis entries they were read from. Evictions are
+ * propagated to other instances through redis pub/sub.
+ *
+ * @author andrey.demyanchik on 1/30/2023
+ */
+@Slf4j
+@Component
+public class NearCache {
+
+    private final ReactiveRedisTemplate<String, Object> redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final long maximumWeight;
+    private final int ttlSeconds;
+    private final String invalidationChannel;
+    private final Map<String, Cache<String, Object>> caches = new ConcurrentHashMap<>();
+
+    private static final String CACHE_KEY_DELIMITER = "::";
+    private static final String CACHE_LAYER_TAG = "layer";
+    private static final String LOCAL_CACHE_LAYER = "local";
+    private static final Duration RESUBSCRIBE_BACKOFF = Duration.ofSeconds(1);
+
+    private Disposable subscription;
+
+    @Autowired
+    public NearCache(ReactiveRedisTemplate<String, Object> redisTemplate,
+                     MeterRegistry meterRegistry,
+                     @Value("${cache.local.maximum-weight}") long maximumWeight,
+                     @Value("${cache.local.ttl-seconds}") int ttlSeconds,
+                     @Value("${cache.local.invalidation-channel}") String invalidationChannel) {
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.maximumWeight = maximumWeight;
+        this.ttlSeconds = ttlSeconds;
+        this.invalidationChannel = invalidationChannel;
+    }
+
+    /**
+     * Creates local cache for the provided cache name. Local entries expire
+     * no later than the corresponding redis entries do.
+     */
+    public void register(String cacheName, int remoteTtlSeconds) {
+        caches.computeIfAbsent(cacheName, name -> {
+            Cache<String, Object> cache = Caffeine.newBuilder()
+                    .maximumWeight(maximumWeight)
+                    .weigher((String key, Object value) -> value instanceof List ? ((List<?>) value).size() + 1 : 1)
+                    .expireAfterWrite(Duration.ofSeconds(Math.min(ttlSeconds, remoteTtlSeconds)))
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, name, CACHE_LAYER_TAG, LOCAL_CACHE_LAYER);
+            return cache;
+        });
+    }
+
+    public Object get(String cacheName, String key) {
+        Cache<String, Object> cache = caches.get(cacheName);
+        return cache == null ? null : cache.getIfPresent(key);
+    }
+
+    public void put(String cacheName, String key, Object value) {
+        Cache<String, Object> cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.put(key, value);
+        }
+    }
+
+    /**
+     * Evicts the entry, or all entries of the cache if key is null,
+     * both locally and on all the other instances.
+     */
+    public void evict(String cacheName, String key) {
+        String message = key == null ? cacheName : cacheName + CACHE_KEY_DELIMITER + key;
+        invalidate(message);
+        redisTemplate.convertAndSend(invalidationChannel, message)
+                .subscribe(receivers -> log.debug("Cache eviction {} published to {} instances", message, receivers),
+                        error -> log.error("Could not publish cache eviction {}", message, error));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        log.info("Subscribing to cache evictions on channel {}", invalidationChannel);
+        subscription = redisTemplate.listenToChannel(invalidationChannel)
+                .doOnNext(message -> invalidate(message.getMessage().toString()))
+                .doOnError(error -> log.error("Cache evictions subscription failed. Resubscribing", error))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, RESUBSCRIBE_BACKOFF))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    private void invalidate(String message) {
+        int delimiterIndex = message.indexOf(CACHE_KEY_DELIMITER);
+        String cacheName = delimiterIndex < 0 ? message : message.substring(0, delimiterIndex);
+        Cache<String, Object> cache = caches.get(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (delimiterIndex < 0) {
+            log.debug("Evicting all local entries of cache {}", cacheName);
+            cache.invalidateAll();
+        } else {
+            log.debug("Evicting local entry {}", message);
+            cache.invalidate(message);
+        }
+    }
+}
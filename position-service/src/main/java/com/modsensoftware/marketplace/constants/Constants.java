@@ -12,19 +12,29 @@ public final class Constants {
     public static final String INVALID_EMAIL_MESSAGE = "Email must be valid.";
     public static final String INVALID_PASSWORD_LENGTH_MESSAGE = "Password must be at least 8 characters long";
     public static final String NEGATIVE_PAGE_NUMBER_MESSAGE = "Page number can not be negative.";
+    public static final String INVALID_CURSOR_MESSAGE = "Page cursor is not valid.";
 
     public static final long MIN_PAGE_NUMBER = 0L;
     public static final String EMAIL_REGEX = "(\\w+)@(\\w+\\.)(\\w+)(\\.\\w+)*";
 
     public static final String PAGE_FILTER_NAME = "page";
     public static final String DEFAULT_PAGE_NUMBER = "0";
+    public static final String AFTER_FILTER_NAME = "after";
+    public static final String NEXT_CURSOR_HEADER_NAME = "X-Next-Cursor";
 
     public static final String ID_PATH_VARIABLE_NAME = "id";
+    public static final String IDS_FILTER_NAME = "ids";
+    public static final String SEARCH_TEXT_FILTER_NAME = "text";
+    public static final String CATEGORY_ID_FILTER_NAME = "categoryId";
+    public static final String COMPANY_ID_FILTER_NAME = "companyId";
+    public static final String MIN_AMOUNT_FILTER_NAME = "minAmount";
+    public static final String MAX_AMOUNT_FILTER_NAME = "maxAmount";
 
     public static final String INVALID_AMOUNT_MESSAGE = "Amount must be more or equal to 0.01.";
     public static final String INVALID_MIN_AMOUNT_MESSAGE = "Minimal amount must be more or equal to 0.01.";
     public static final String MIN_AMOUNT_VALUE = "0.01";
     public static final String MONGO_ID_FIELD_NAME = "_id";
+    public static final String POSITIONS_TEXT_INDEX_NAME = "positions_text_idx";
     public static final String CATEGORIES_CACHE_NAME = "categories";
     public static final String SINGLE_CATEGORY_CACHE_NAME = "category";
     public static final String ITEMS_CACHE_NAME = "items";
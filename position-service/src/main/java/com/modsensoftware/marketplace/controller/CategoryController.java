@@ -2,11 +2,14 @@ package com.modsensoftware.marketplace.controller;
 
 import com.modsensoftware.marketplace.domain.Category;
 import com.modsensoftware.marketplace.dto.CategoryDto;
+import com.modsensoftware.marketplace.dto.response.CategoryTreeResponse;
 import com.modsensoftware.marketplace.service.CategoryService;
+import com.modsensoftware.marketplace.utils.PageCursor;
 import com.mongodb.client.result.DeleteResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -21,7 +24,9 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import javax.validation.constraints.Min;
+import java.util.List;
 
+import static com.modsensoftware.marketplace.constants.Constants.AFTER_FILTER_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.DEFAULT_PAGE_NUMBER;
 import static com.modsensoftware.marketplace.constants.Constants.ID_PATH_VARIABLE_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.MIN_PAGE_NUMBER;
@@ -47,12 +52,26 @@ public class CategoryController {
         return categoryService.getAllCategories(pageNumber);
     }
 
+    @GetMapping(params = AFTER_FILTER_NAME, produces = {"application/json"})
+    public Mono<ResponseEntity<List<Category>>> getAllCategoriesAfter(@RequestParam(name = AFTER_FILTER_NAME) String after) {
+        log.debug("Fetching all categories after cursor {}", after);
+        return categoryService.getAllCategories(after)
+                .collectList()
+                .map(page -> PageCursor.toPageResponse(page, Category::getId));
+    }
+
     @GetMapping(value = "/{id}", produces = {"application/json"})
     public Mono<Category> getCategoryById(@PathVariable(name = ID_PATH_VARIABLE_NAME) String id) {
         log.debug("Fetching category by id: {}", id);
         return categoryService.getCategoryById(id);
     }
 
+    @GetMapping(value = "/{id}/tree", produces = {"application/json"})
+    public Mono<CategoryTreeResponse> getCategoryTree(@PathVariable(name = ID_PATH_VARIABLE_NAME) String id) {
+        log.debug("Fetching category tree starting from category with id: {}", id);
+        return categoryService.getCategoryTree(id);
+    }
+
     @ResponseStatus(HttpStatus.CREATED)
     @PostMapping
     public Mono<Category> createCategory(@RequestBody CategoryDto categoryDto) {
@@ -3,10 +3,12 @@ package com.modsensoftware.marketplace.controller;
 import com.modsensoftware.marketplace.domain.Item;
 import com.modsensoftware.marketplace.dto.ItemDto;
 import com.modsensoftware.marketplace.service.ItemService;
+import com.modsensoftware.marketplace.utils.PageCursor;
 import com.mongodb.client.result.DeleteResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,9 +22,11 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.validation.constraints.Min;
+import java.util.List;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import static com.modsensoftware.marketplace.constants.Constants.AFTER_FILTER_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.DEFAULT_PAGE_NUMBER;
 import static com.modsensoftware.marketplace.constants.Constants.ID_PATH_VARIABLE_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.MIN_PAGE_NUMBER;
@@ -48,6 +52,14 @@ public class ItemController {
         return itemService.getAllItems(pageNumber);
     }
 
+    @GetMapping(params = AFTER_FILTER_NAME, produces = {"application/json"})
+    public Mono<ResponseEntity<List<Item>>> getAllItemsAfter(@RequestParam(name = AFTER_FILTER_NAME) String after) {
+        log.debug("Fetching all items after cursor {}", after);
+        return itemService.getAllItems(after)
+                .collectList()
+                .map(page -> PageCursor.toPageResponse(page, Item::getId));
+    }
+
     @GetMapping(value = "/{id}", produces = {"application/json"})
     public Mono<Item> getItemById(@PathVariable(name = ID_PATH_VARIABLE_NAME) String id) {
         log.debug("Fetching item by id: {}", id);
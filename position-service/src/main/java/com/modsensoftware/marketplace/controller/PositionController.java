@@ -5,10 +5,12 @@ import com.modsensoftware.marketplace.dto.request.CreatePositionRequest;
 import com.modsensoftware.marketplace.dto.request.UpdatePositionRequest;
 import com.modsensoftware.marketplace.dto.response.PositionResponse;
 import com.modsensoftware.marketplace.service.PositionService;
+import com.modsensoftware.marketplace.utils.PageCursor;
 import com.mongodb.client.result.DeleteResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -26,12 +28,20 @@ import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import java.util.List;
 
+import static com.modsensoftware.marketplace.constants.Constants.AFTER_FILTER_NAME;
+import static com.modsensoftware.marketplace.constants.Constants.CATEGORY_ID_FILTER_NAME;
+import static com.modsensoftware.marketplace.constants.Constants.COMPANY_ID_FILTER_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.DEFAULT_PAGE_NUMBER;
+import static com.modsensoftware.marketplace.constants.Constants.IDS_FILTER_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.ID_PATH_VARIABLE_NAME;
+import static com.modsensoftware.marketplace.constants.Constants.MAX_AMOUNT_FILTER_NAME;
+import static com.modsensoftware.marketplace.constants.Constants.MIN_AMOUNT_FILTER_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.MIN_PAGE_NUMBER;
 import static com.modsensoftware.marketplace.constants.Constants.NEGATIVE_PAGE_NUMBER_MESSAGE;
 import static com.modsensoftware.marketplace.constants.Constants.PAGE_FILTER_NAME;
+import static com.modsensoftware.marketplace.constants.Constants.SEARCH_TEXT_FILTER_NAME;
 
 /**
  * @author andrey.demyanchik on 11/3/2022
@@ -52,6 +62,45 @@ public class PositionController {
         return positionService.getAllPositions(pageNumber);
     }
 
+    @GetMapping(params = AFTER_FILTER_NAME, produces = {"application/json"})
+    public Mono<ResponseEntity<List<PositionResponse>>> getAllPositionsAfter(@RequestParam(name = AFTER_FILTER_NAME) String after) {
+        log.debug("Fetching all positions after cursor {}", after);
+        return positionService.getAllPositions(after)
+                .collectList()
+                .map(page -> PageCursor.toPageResponse(page, PositionResponse::getId));
+    }
+
+    @GetMapping(params = IDS_FILTER_NAME, produces = {"application/json"})
+    public Flux<PositionResponse> getPositionsByIds(@RequestParam(name = IDS_FILTER_NAME) List<String> ids) {
+        log.debug("Fetching positions by ids: {}", ids);
+        return positionService.getPositionsByIds(ids);
+    }
+
+    @GetMapping(value = "/search", produces = {"application/json"})
+    public Flux<PositionResponse> searchPositions(
+            @RequestParam(name = SEARCH_TEXT_FILTER_NAME) String text,
+            @RequestParam(name = PAGE_FILTER_NAME, defaultValue = DEFAULT_PAGE_NUMBER)
+            @Min(value = MIN_PAGE_NUMBER, message = NEGATIVE_PAGE_NUMBER_MESSAGE) int pageNumber,
+            @RequestParam(name = CATEGORY_ID_FILTER_NAME, required = false) String categoryId,
+            @RequestParam(name = COMPANY_ID_FILTER_NAME, required = false) Long companyId,
+            @RequestParam(name = MIN_AMOUNT_FILTER_NAME, required = false) Double minAmount,
+            @RequestParam(name = MAX_AMOUNT_FILTER_NAME, required = false) Double maxAmount
+    ) {
+        log.debug("Searching positions by text '{}' for page {}. "
+                        + "Filter by category id: {}, company id: {}, amount from {} to {}",
+                text, pageNumber, categoryId, companyId, minAmount, maxAmount);
+        return positionService.searchPositions(text, pageNumber, categoryId, companyId, minAmount, maxAmount);
+    }
+
+    @GetMapping(value = "/categories/{categoryId}", produces = {"application/json"})
+    public Flux<PositionResponse> getPositionsUnderCategory(
+            @PathVariable(name = CATEGORY_ID_FILTER_NAME) String categoryId,
+            @RequestParam(name = PAGE_FILTER_NAME, defaultValue = DEFAULT_PAGE_NUMBER)
+            @Min(value = MIN_PAGE_NUMBER, message = NEGATIVE_PAGE_NUMBER_MESSAGE) int pageNumber) {
+        log.debug("Fetching positions under category {} for page {}", categoryId, pageNumber);
+        return positionService.getPositionsUnderCategory(categoryId, pageNumber);
+    }
+
     @GetMapping(value = "/{id}", produces = {"application/json"})
     public Mono<PositionResponse> getPositionById(@PathVariable(name = ID_PATH_VARIABLE_NAME) String id) {
         log.debug("Fetching position by id: {}", id);
@@ -2,6 +2,7 @@ package com.modsensoftware.marketplace.dao;
 
 import com.modsensoftware.marketplace.domain.Category;
 import com.modsensoftware.marketplace.exception.EntityNotFoundException;
+import com.modsensoftware.marketplace.utils.PageCursor;
 import com.modsensoftware.marketplace.utils.Utils;
 import com.mongodb.client.result.DeleteResult;
 import lombok.RequiredArgsConstructor;
@@ -9,13 +10,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.Map;
 
 import static com.modsensoftware.marketplace.constants.Constants.MONGO_ID_FIELD_NAME;
@@ -30,6 +34,7 @@ import static java.lang.String.format;
 public class CategoryDao implements Dao<Category, String> {
 
     private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final SnapshotRefresher snapshotRefresher;
 
     @Value("${default.page.size}")
     private int pageSize;
@@ -60,6 +65,36 @@ public class CategoryDao implements Dao<Category, String> {
         return reactiveMongoTemplate.find(getAllPaged, Category.class);
     }
 
+    @Override
+    public Flux<Category> getAll(String after, Map<String, String> filterProperties) {
+        log.debug("Fetching all categories after cursor {}", after);
+        return Flux.defer(() -> reactiveMongoTemplate.find(PageCursor.afterQuery(after, pageSize), Category.class));
+    }
+
+    /**
+     * @return the category together with all of its descendants
+     */
+    public Flux<Category> getSubtree(String id) {
+        log.debug("Fetching subtree of category entity with id {}", id);
+        Query subtree = new Query(new Criteria().orOperator(
+                Criteria.where(MONGO_ID_FIELD_NAME).is(id),
+                Criteria.where(Category.ANCESTORS_FIELD_NAME).is(id)));
+        return reactiveMongoTemplate.find(subtree, Category.class);
+    }
+
+    public Flux<Category> getDescendants(String id) {
+        log.debug("Fetching descendants of category entity with id {}", id);
+        return reactiveMongoTemplate.find(new Query(Criteria.where(Category.ANCESTORS_FIELD_NAME).is(id)), Category.class);
+    }
+
+    public Mono<Category> updateAncestors(String id, List<String> ancestors) {
+        log.debug("Updating ancestors of category entity with id {} to {}", id, ancestors);
+        return reactiveMongoTemplate.findAndModify(new Query(Criteria.where(MONGO_ID_FIELD_NAME).is(id)),
+                        new Update().set(Category.ANCESTORS_FIELD_NAME, ancestors),
+                        FindAndModifyOptions.options().returnNew(true), Category.class)
+                .flatMap(snapshotRefresher::refreshCategoryCopies);
+    }
+
     @Override
     public Mono<Category> save(Category category) {
         log.debug("Saving category entity: {}", category);
@@ -84,7 +119,8 @@ public class CategoryDao implements Dao<Category, String> {
                         toBeUpdated.setParent(null);
                     }
                     return Mono.just(toBeUpdated);
-                }).flatMap(reactiveMongoTemplate::save);
+                }).flatMap(reactiveMongoTemplate::save)
+                .flatMap(snapshotRefresher::refreshCategoryCopies);
     }
 
     @Override
@@ -14,6 +14,14 @@ public interface Dao<T, ID> {
 
     Flux<T> getAll(int pageNumber, Map<String, String> filterProperties);
 
+    /**
+     * Keyset pagination alternative to {@link #getAll(int, Map)}.
+     * Every page costs the same regardless of how deep it is.
+     *
+     * @param after cursor of the previous page, null or empty for the first page
+     */
+    Flux<T> getAll(String after, Map<String, String> filterProperties);
+
     Mono<T> save(T t);
 
     Mono<T> update(ID id, T updatedFields);
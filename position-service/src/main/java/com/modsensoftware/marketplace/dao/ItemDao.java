@@ -2,6 +2,7 @@ package com.modsensoftware.marketplace.dao;
 
 import com.modsensoftware.marketplace.domain.Item;
 import com.modsensoftware.marketplace.exception.EntityNotFoundException;
+import com.modsensoftware.marketplace.utils.PageCursor;
 import com.modsensoftware.marketplace.utils.Utils;
 import com.mongodb.client.result.DeleteResult;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +17,7 @@ import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
 import java.util.Map;
 
 import static com.modsensoftware.marketplace.constants.Constants.MONGO_ID_FIELD_NAME;
@@ -31,6 +33,7 @@ public class ItemDao implements Dao<Item, String> {
 
     private final ReactiveMongoTemplate reactiveMongoTemplate;
     private final CategoryDao categoryDao;
+    private final SnapshotRefresher snapshotRefresher;
 
     @Value("${default.page.size}")
     private int pageSize;
@@ -61,6 +64,18 @@ public class ItemDao implements Dao<Item, String> {
         return reactiveMongoTemplate.find(getAllPaged, Item.class);
     }
 
+    @Override
+    public Flux<Item> getAll(String after, Map<String, String> filterProperties) {
+        log.debug("Fetching all items after cursor {}", after);
+        return Flux.defer(() -> reactiveMongoTemplate.find(PageCursor.afterQuery(after, pageSize), Item.class));
+    }
+
+    public Flux<Item> getAllByIds(Collection<String> ids) {
+        log.debug("Fetching item entities with ids {}", ids);
+        Query getAllByIds = new Query(Criteria.where(MONGO_ID_FIELD_NAME).in(ids));
+        return reactiveMongoTemplate.find(getAllByIds, Item.class);
+    }
+
     @Override
     public Mono<Item> save(Item item) {
         log.debug("Saving item entity: {}", item);
@@ -81,7 +96,8 @@ public class ItemDao implements Dao<Item, String> {
                         });
                     }
                     return Mono.just(item);
-                }).flatMap(reactiveMongoTemplate::save);
+                }).flatMap(reactiveMongoTemplate::save)
+                .doOnNext(snapshotRefresher::refreshItemInBackground);
     }
 
     @Override
@@ -2,27 +2,54 @@ package com.modsensoftware.marketplace.dao;
 
 import com.modsensoftware.marketplace.domain.Position;
 import com.modsensoftware.marketplace.exception.EntityNotFoundException;
+import com.modsensoftware.marketplace.utils.PageCursor;
 import com.modsensoftware.marketplace.utils.Utils;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.PushOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
 import com.mongodb.client.result.DeleteResult;
+import com.mongodb.reactivestreams.client.MongoCollection;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
+import static com.modsensoftware.marketplace.constants.Constants.CATEGORY_ID_FILTER_NAME;
+import static com.modsensoftware.marketplace.constants.Constants.COMPANY_ID_FILTER_NAME;
+import static com.modsensoftware.marketplace.constants.Constants.MAX_AMOUNT_FILTER_NAME;
+import static com.modsensoftware.marketplace.constants.Constants.MIN_AMOUNT_FILTER_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.MONGO_ID_FIELD_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.POSITIONS_CACHE_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.SINGLE_POSITION_CACHE_NAME;
+import static com.modsensoftware.marketplace.domain.Position.AMOUNT_FIELD_NAME;
+import static com.modsensoftware.marketplace.domain.Position.APPLIED_TRANSACTION_IDS_FIELD_NAME;
+import static com.modsensoftware.marketplace.domain.Position.CATEGORY_ID_FIELD_NAME;
+import static com.modsensoftware.marketplace.domain.Position.COMPANY_ID_FIELD_NAME;
+import static com.modsensoftware.marketplace.domain.Position.ITEM_CATEGORY_ANCESTORS_FIELD_NAME;
 import static java.lang.String.format;
 
 /**
@@ -39,6 +66,12 @@ public class PositionDao implements Dao<Position, String> {
     private int pageSize;
     @Value("${exception.message.positionNotFound}")
     private String positionNotFoundMessage;
+    @Value("${position.decrease.revert-retries}")
+    private int revertRetries;
+    @Value("${position.decrease.applied-transactions-limit}")
+    private int appliedTransactionsLimit;
+
+    private static final Duration REVERT_BACKOFF = Duration.ofMillis(100);
 
     @Override
     public Mono<Position> get(String id) {
@@ -62,6 +95,57 @@ public class PositionDao implements Dao<Position, String> {
         return reactiveMongoTemplate.find(getAllPaged, Position.class);
     }
 
+    @Override
+    public Flux<Position> getAll(String after, Map<String, String> filterProperties) {
+        log.debug("Fetching all positions after cursor {}", after);
+        return Flux.defer(() -> reactiveMongoTemplate.find(PageCursor.afterQuery(after, pageSize), Position.class));
+    }
+
+    /**
+     * Full-text search over item names, descriptions and category names.
+     * Results are ordered by relevance.
+     *
+     * @param filterProperties optional category id, company id and amount range filters
+     */
+    public Flux<Position> search(String text, int pageNumber, Map<String, String> filterProperties) {
+        log.debug("Searching positions by text '{}' for page {} with filters {}", text, pageNumber, filterProperties);
+        Query search = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text))
+                .sortByScore()
+                .with(PageRequest.of(pageNumber, pageSize));
+        Utils.setIfNotNull(filterProperties.get(CATEGORY_ID_FILTER_NAME),
+                categoryId -> search.addCriteria(Criteria.where(CATEGORY_ID_FIELD_NAME).is(categoryId)));
+        Utils.setIfNotNull(filterProperties.get(COMPANY_ID_FILTER_NAME),
+                companyId -> search.addCriteria(Criteria.where(COMPANY_ID_FIELD_NAME).is(Long.valueOf(companyId))));
+        String minAmount = filterProperties.get(MIN_AMOUNT_FILTER_NAME);
+        String maxAmount = filterProperties.get(MAX_AMOUNT_FILTER_NAME);
+        if (minAmount != null || maxAmount != null) {
+            Criteria amount = Criteria.where(AMOUNT_FIELD_NAME);
+            Utils.setIfNotNull(minAmount, min -> amount.gte(Double.valueOf(min)));
+            Utils.setIfNotNull(maxAmount, max -> amount.lte(Double.valueOf(max)));
+            search.addCriteria(amount);
+        }
+        return reactiveMongoTemplate.find(search, Position.class);
+    }
+
+    /**
+     * Fetches positions of items from the category or any of its descendants.
+     * The $or branches are merged in no particular order, so pages are sorted by id.
+     */
+    public Flux<Position> getAllUnderCategory(String categoryId, int pageNumber) {
+        log.debug("Fetching position entities under category {} for page {}", categoryId, pageNumber);
+        Query underCategory = new Query(new Criteria().orOperator(
+                Criteria.where(CATEGORY_ID_FIELD_NAME).is(categoryId),
+                Criteria.where(ITEM_CATEGORY_ANCESTORS_FIELD_NAME).is(categoryId)))
+                .with(PageRequest.of(pageNumber, pageSize, Sort.by(Sort.Direction.ASC, MONGO_ID_FIELD_NAME)));
+        return reactiveMongoTemplate.find(underCategory, Position.class);
+    }
+
+    public Flux<Position> getAllByIds(Collection<String> ids) {
+        log.debug("Fetching position entities with ids {}", ids);
+        Query getAllByIds = new Query(Criteria.where(MONGO_ID_FIELD_NAME).in(ids));
+        return reactiveMongoTemplate.find(getAllByIds, Position.class);
+    }
+
     @Override
     public Mono<Position> save(Position position) {
         log.debug("Saving position entity: {}", position);
@@ -69,7 +153,7 @@ public class PositionDao implements Dao<Position, String> {
     }
 
     @Caching(evict = {
-            @CacheEvict(cacheNames = POSITIONS_CACHE_NAME, allEntries = true),
+            @CacheEvict(cacheNames = POSITIONS_CACHE_NAME, key = "#id"),
             @CacheEvict(cacheNames = SINGLE_POSITION_CACHE_NAME, key = "#id")
     })
     @Override
@@ -83,9 +167,110 @@ public class PositionDao implements Dao<Position, String> {
                 }).flatMap(reactiveMongoTemplate::save);
     }
 
+    /**
+     * Decreases amounts of several positions for the user transaction. All the positions are decreased
+     * with a single unordered bulk write of conditional updates, each matching only if the position exists
+     * and has enough items in stock. The id of the transaction is stored in the position with the same update,
+     * so a position already decreased for the transaction is not decreased again when the transaction is
+     * redelivered. If fewer positions are matched than requested, the positions holding the transaction
+     * id are counted to tell a redelivery from an absent or out of stock position. In the latter case
+     * the decreases of the transaction are reverted, so either all the amounts are decreased,
+     * or none of them are changed.
+     *
+     * <p>The decreases are not isolated: other readers may observe some of them before they are
+     * reverted. If the revert fails, the error is propagated, so the caller does not report
+     * the transaction as processed and it is processed again.
+     *
+     * @param amounts amounts to decrease mapped by position id
+     * @return true if amounts were decreased, false if some position is absent or does not
+     * have enough items in stock. Any other failure is propagated after the revert
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = POSITIONS_CACHE_NAME, key = "#amounts.keySet()"),
+            @CacheEvict(cacheNames = SINGLE_POSITION_CACHE_NAME, key = "#amounts.keySet()")
+    })
+    public Mono<Boolean> decreaseAmounts(Long transactionId, Map<String, Double> amounts) {
+        log.debug("Decreasing amounts of position entities for transaction {}: {}", transactionId, amounts);
+        if (amounts.isEmpty()) {
+            return Mono.just(Boolean.TRUE);
+        }
+        List<WriteModel<Document>> decrements = amounts.entrySet().stream()
+                .map(decrement -> new UpdateOneModel<Document>(
+                        Filters.and(Filters.eq(MONGO_ID_FIELD_NAME, toMongoId(decrement.getKey())),
+                                Filters.ne(APPLIED_TRANSACTION_IDS_FIELD_NAME, transactionId),
+                                Filters.gte(AMOUNT_FIELD_NAME, decrement.getValue())),
+                        Updates.combine(Updates.inc(AMOUNT_FIELD_NAME, -decrement.getValue()),
+                                Updates.pushEach(APPLIED_TRANSACTION_IDS_FIELD_NAME, List.of(transactionId),
+                                        new PushOptions().slice(-appliedTransactionsLimit)))))
+                .collect(Collectors.toList());
+        return reactiveMongoTemplate.getCollection(reactiveMongoTemplate.getCollectionName(Position.class))
+                .flatMap(collection -> Mono.from(collection.bulkWrite(decrements, new BulkWriteOptions().ordered(false)))
+                        .flatMap(result -> {
+                            if (result.getMatchedCount() == amounts.size()) {
+                                return Mono.just(Boolean.TRUE);
+                            }
+                            // Some positions might have been decreased by the previous delivery of the transaction
+                            return Mono.from(collection.countDocuments(Filters.and(
+                                            Filters.in(MONGO_ID_FIELD_NAME, amounts.keySet().stream()
+                                                    .map(this::toMongoId)
+                                                    .collect(Collectors.toList())),
+                                            Filters.eq(APPLIED_TRANSACTION_IDS_FIELD_NAME, transactionId))))
+                                    .map(appliedCount -> appliedCount == amounts.size());
+                        })
+                        .onErrorResume(error -> revertDecrements(collection, transactionId, amounts)
+                                .then(Mono.error(error)))
+                        .flatMap(allDecreased -> {
+                            if (allDecreased) {
+                                return Mono.just(Boolean.TRUE);
+                            }
+                            log.error("Some of the positions are absent or do not have enough items in stock. "
+                                    + "Reverting decreased amounts");
+                            return revertDecrements(collection, transactionId, amounts).thenReturn(Boolean.FALSE);
+                        }));
+    }
+
+    /**
+     * Reverts the decreases of the amounts made for the user transaction. Positions
+     * which were not decreased for the transaction are not changed, so reverting
+     * the same transaction again is a no-op.
+     *
+     * @param amounts decreased amounts mapped by position id
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = POSITIONS_CACHE_NAME, key = "#amounts.keySet()"),
+            @CacheEvict(cacheNames = SINGLE_POSITION_CACHE_NAME, key = "#amounts.keySet()")
+    })
+    public Mono<Void> revertAmounts(Long transactionId, Map<String, Double> amounts) {
+        log.debug("Reverting decreased amounts of position entities for transaction {}: {}", transactionId, amounts);
+        return reactiveMongoTemplate.getCollection(reactiveMongoTemplate.getCollectionName(Position.class))
+                .flatMap(collection -> revertDecrements(collection, transactionId, amounts));
+    }
+
     @Override
     public Mono<DeleteResult> deleteById(String id) {
         log.debug("Deleting position entity with id: {}", id);
         return reactiveMongoTemplate.remove(new Query(Criteria.where(MONGO_ID_FIELD_NAME).is(id)), Position.class);
     }
+
+    private Mono<Void> revertDecrements(MongoCollection<Document> collection, Long transactionId,
+                                        Map<String, Double> amounts) {
+        List<WriteModel<Document>> reverts = amounts.entrySet().stream()
+                .map(decrement -> new UpdateOneModel<Document>(
+                        Filters.and(Filters.eq(MONGO_ID_FIELD_NAME, toMongoId(decrement.getKey())),
+                                Filters.eq(APPLIED_TRANSACTION_IDS_FIELD_NAME, transactionId)),
+                        Updates.combine(Updates.inc(AMOUNT_FIELD_NAME, decrement.getValue()),
+                                Updates.pull(APPLIED_TRANSACTION_IDS_FIELD_NAME, transactionId))))
+                .collect(Collectors.toList());
+        return Mono.from(collection.bulkWrite(reverts, new BulkWriteOptions().ordered(false)))
+                .retryWhen(Retry.backoff(revertRetries, REVERT_BACKOFF))
+                .doOnError(error -> log.error("Failed to revert decreased amounts of transaction {}: {}",
+                        transactionId, amounts, error))
+                .then();
+    }
+
+    private Object toMongoId(String id) {
+        MongoPersistentProperty idProperty = reactiveMongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(Position.class).getRequiredIdProperty();
+        return reactiveMongoTemplate.getConverter().convertId(id, idProperty.getFieldType());
+    }
 }
@@ -0,0 +1,141 @@
+package com.modsensoftware.marketplace.dao;
+
+import com.modsensoftware.marketplace.domain.Category;
+import com.modsensoftware.marketplace.domain.Item;
+import com.modsensoftware.marketplace.domain.Position;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.modsensoftware.marketplace.constants.Constants.MONGO_ID_FIELD_NAME;
+
+/**
+ * Propagates updates of items and categories to their copies embedded into
+ * other documents. Depending on the storage mode positions hold either full
+ * copies of their items or snapshots of them.
+ *
+ * @author andrey.demyanchik on 1/30/2023
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SnapshotRefresher {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Value("${storage.item-reference.enabled}")
+    private boolean itemReferenceStorageEnabled;
+
+    private static final long MAX_REFRESH_RETRIES = 3L;
+    private static final Duration REFRESH_RETRY_BACKOFF = Duration.ofMillis(500);
+
+    /**
+     * @return amount of refreshed positions
+     */
+    public Mono<Long> refreshItem(Item item) {
+        log.debug("Refreshing copies of item {}", item.getId());
+        Query positionsOfItem = new Query(Criteria.where(Position.ITEM_ID_FIELD_NAME).is(item.getId()));
+        Update update = new Update().set(Position.ITEM_FIELD_NAME, itemReferenceStorageEnabled ? item.toSnapshot() : item);
+        return reactiveMongoTemplate.updateMulti(positionsOfItem, update, Position.class)
+                .map(UpdateResult::getModifiedCount);
+    }
+
+    /**
+     * Descendants of the category embed it into their parent chains, as do items and
+     * positions of the descendants, so these copies are refreshed as well.
+     *
+     * @return amount of refreshed categories, items and positions
+     */
+    public Mono<Long> refreshCategory(Category category) {
+        log.debug("Refreshing copies of category {}", category.getId());
+        Query itemsOfCategory = new Query(Criteria.where(Item.CATEGORY_ID_FIELD_NAME).is(category.getId()));
+        Query positionsOfCategory = new Query(Criteria.where(Position.ITEM_CATEGORY_ID_FIELD_NAME).is(category.getId()));
+        Update positionsUpdate = new Update().set(Position.ITEM_CATEGORY_FIELD_NAME,
+                itemReferenceStorageEnabled ? category.toSnapshot() : category);
+        return Flux.merge(
+                        reactiveMongoTemplate.updateMulti(itemsOfCategory, new Update().set(Item.CATEGORY_FIELD_NAME, category), Item.class),
+                        reactiveMongoTemplate.updateMulti(positionsOfCategory, positionsUpdate, Position.class))
+                .map(UpdateResult::getModifiedCount)
+                .concatWith(refreshDescendantCopies(category))
+                .reduce(0L, Long::sum);
+    }
+
+    /**
+     * Descendants are looked up through the ancestors index and grouped by their depth
+     * below the category, which tells how deep in the parent chain the copy is.
+     */
+    private Flux<Long> refreshDescendantCopies(Category category) {
+        Query descendants = new Query(Criteria.where(Category.ANCESTORS_FIELD_NAME).is(category.getId()));
+        descendants.fields().include(Category.ANCESTORS_FIELD_NAME);
+        return reactiveMongoTemplate.find(descendants, Category.class)
+                .collect(Collectors.groupingBy(descendant -> descendant.getAncestors().size()
+                                - descendant.getAncestors().indexOf(category.getId()),
+                        Collectors.mapping(Category::getId, Collectors.toList())))
+                .flatMapIterable(Map::entrySet)
+                .concatMap(descendantsAtDepth -> refreshCopiesAtDepth(category,
+                        descendantsAtDepth.getKey(), descendantsAtDepth.getValue()));
+    }
+
+    private Flux<Long> refreshCopiesAtDepth(Category category, int depth, List<String> descendantIds) {
+        String parentPath = String.join(".", Collections.nCopies(depth, Category.PARENT_FIELD_NAME));
+        List<Mono<UpdateResult>> updates = new ArrayList<>();
+        updates.add(reactiveMongoTemplate.updateMulti(
+                new Query(Criteria.where(MONGO_ID_FIELD_NAME).in(descendantIds)),
+                new Update().set(parentPath, category), Category.class));
+        updates.add(reactiveMongoTemplate.updateMulti(
+                new Query(Criteria.where(Item.CATEGORY_ID_FIELD_NAME).in(descendantIds)),
+                new Update().set(Item.CATEGORY_FIELD_NAME + "." + parentPath, category), Item.class));
+        // Category snapshots do not hold parents
+        if (!itemReferenceStorageEnabled) {
+            updates.add(reactiveMongoTemplate.updateMulti(
+                    new Query(Criteria.where(Position.ITEM_CATEGORY_ID_FIELD_NAME).in(descendantIds)),
+                    new Update().set(Position.ITEM_CATEGORY_FIELD_NAME + "." + parentPath, category), Position.class));
+        }
+        return Flux.merge(updates).map(UpdateResult::getModifiedCount);
+    }
+
+    public void refreshItemInBackground(Item item) {
+        inBackground(refreshItem(item), "item", item.getId());
+    }
+
+    /**
+     * Refreshes copies of the category before the returned publisher completes, so that
+     * caches evicted once the modification completes are not refilled with stale copies.
+     * The category itself is already saved, so a failed refresh is only logged.
+     */
+    public Mono<Category> refreshCategoryCopies(Category category) {
+        return withRetries(refreshCategory(category))
+                .doOnNext(refreshed -> log.debug("Refreshed {} copies of category {}", refreshed, category.getId()))
+                .onErrorResume(error -> {
+                    log.error("Could not refresh copies of category {}", category.getId(), error);
+                    return Mono.empty();
+                })
+                .thenReturn(category);
+    }
+
+    private void inBackground(Mono<Long> refresh, String entityName, String id) {
+        withRetries(refresh)
+                .subscribe(refreshed -> log.debug("Refreshed {} copies of {} {}", refreshed, entityName, id),
+                        error -> log.error("Could not refresh copies of {} {}", entityName, id, error));
+    }
+
+    private Mono<Long> withRetries(Mono<Long> refresh) {
+        return refresh.retryWhen(Retry.backoff(MAX_REFRESH_RETRIES, REFRESH_RETRY_BACKOFF));
+    }
+}
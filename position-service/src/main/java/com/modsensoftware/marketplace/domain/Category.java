@@ -7,6 +7,9 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.MongoId;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @author andrey.demyanchik on 10/31/2022
  */
@@ -17,9 +20,32 @@ import org.springframework.data.mongodb.core.mapping.MongoId;
 @Document(collection = "categories")
 public class Category {
 
+    public static final String PARENT_FIELD_NAME = "parent";
+    public static final String ANCESTORS_FIELD_NAME = "ancestors";
+
     @MongoId
     private String id;
     private String name;
     private String description;
     private Category parent;
+
+    // Ids of all the categories above this one, starting from the root
+    private List<String> ancestors;
+
+    public Category toSnapshot() {
+        return Category.builder()
+                .id(id)
+                .name(name)
+                .ancestors(ancestors)
+                .build();
+    }
+
+    /**
+     * @return ancestors of a direct child of this category
+     */
+    public List<String> childAncestors() {
+        List<String> childAncestors = ancestors == null ? new ArrayList<>() : new ArrayList<>(ancestors);
+        childAncestors.add(id);
+        return childAncestors;
+    }
 }
@@ -21,6 +21,10 @@ import java.time.LocalDateTime;
 @Document(collection = "items")
 public class Item {
 
+    public static final String CATEGORY_ID_FIELD_NAME = "category._id";
+    public static final String CREATED_FIELD_NAME = "created";
+    public static final String CATEGORY_FIELD_NAME = "category";
+
     @MongoId
     private String id;
     private String name;
@@ -30,4 +34,19 @@ public class Item {
     private Category category;
     @Version
     private Long version;
+
+    /**
+     * @return copy of the item holding only the fields positions
+     * are listed and searched by
+     */
+    public Item toSnapshot() {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .created(created)
+                .category(category == null ? null : category.toSnapshot())
+                .version(version)
+                .build();
+    }
 }
@@ -1,5 +1,6 @@
 package com.modsensoftware.marketplace.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -10,6 +11,7 @@ import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.MongoId;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * @author andrey.demyanchik on 10/31/2022
@@ -22,6 +24,17 @@ import java.time.LocalDateTime;
 public class Position {
 
     public static final String ID_FIELD_NAME = "id";
+    public static final String AMOUNT_FIELD_NAME = "amount";
+    public static final String APPLIED_TRANSACTION_IDS_FIELD_NAME = "appliedTransactionIds";
+    public static final String COMPANY_ID_FIELD_NAME = "companyId";
+    public static final String CATEGORY_ID_FIELD_NAME = "item.category.id";
+    public static final String ITEM_FIELD_NAME = "item";
+    public static final String ITEM_ID_FIELD_NAME = "item._id";
+    public static final String ITEM_CATEGORY_FIELD_NAME = "item.category";
+    public static final String ITEM_CATEGORY_ID_FIELD_NAME = "item.category._id";
+    public static final String ITEM_CATEGORY_ANCESTORS_FIELD_NAME = "item.category.ancestors";
+    public static final String CREATED_BY_FIELD_NAME = "createdBy";
+    public static final String CREATED_FIELD_NAME = "created";
 
     @MongoId
     private String id;
@@ -37,4 +50,9 @@ public class Position {
 
     // Positive value. Values start at 0.01
     private Double minAmount;
+
+    // Ids of the last user transactions which decreased the amount,
+    // so a redelivered transaction does not decrease it again
+    @JsonIgnore
+    private List<Long> appliedTransactionIds;
 }
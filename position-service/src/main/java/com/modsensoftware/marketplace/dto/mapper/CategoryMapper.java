@@ -2,6 +2,9 @@ package com.modsensoftware.marketplace.dto.mapper;
 
 import com.modsensoftware.marketplace.domain.Category;
 import com.modsensoftware.marketplace.dto.CategoryDto;
+import com.modsensoftware.marketplace.dto.response.CategoryTreeResponse;
+
+import java.util.Collection;
 
 /**
  * @author andrey.demyanchik on 11/3/2022
@@ -19,4 +22,14 @@ public interface CategoryMapper {
      * @return Mapped Category object
      */
     Category toCategory(CategoryDto categoryDto);
+
+    /**
+     * Assembles tree of categories. Every category of the subtree except the root
+     * becomes a child of the category its ancestors end with.
+     *
+     * @param rootId  Id of the category the tree starts from
+     * @param subtree The root category together with all of its descendants
+     * @return Root of the tree
+     */
+    CategoryTreeResponse toTree(String rootId, Collection<Category> subtree);
 }
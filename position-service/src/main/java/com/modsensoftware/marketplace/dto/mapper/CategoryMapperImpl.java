@@ -2,8 +2,14 @@ package com.modsensoftware.marketplace.dto.mapper;
 
 import com.modsensoftware.marketplace.domain.Category;
 import com.modsensoftware.marketplace.dto.CategoryDto;
+import com.modsensoftware.marketplace.dto.response.CategoryTreeResponse;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * @author andrey.demyanchik on 11/14/2022
  */
@@ -38,4 +44,24 @@ public class CategoryMapperImpl implements CategoryMapper {
         }
         return category;
     }
+
+    @Override
+    public CategoryTreeResponse toTree(String rootId, Collection<Category> subtree) {
+        Map<String, CategoryTreeResponse> nodes = new LinkedHashMap<>();
+        subtree.forEach(category -> nodes.put(category.getId(), CategoryTreeResponse.builder()
+                .id(category.getId())
+                .name(category.getName())
+                .description(category.getDescription())
+                .build()));
+        subtree.stream()
+                .filter(category -> !category.getId().equals(rootId))
+                .forEach(category -> {
+                    List<String> ancestors = category.getAncestors();
+                    CategoryTreeResponse parent = nodes.get(ancestors.get(ancestors.size() - 1));
+                    if (parent != null) {
+                        parent.getChildren().add(nodes.get(category.getId()));
+                    }
+                });
+        return nodes.get(rootId);
+    }
 }
@@ -2,6 +2,7 @@ package com.modsensoftware.marketplace.dto.mapper;
 
 import com.modsensoftware.marketplace.domain.Item;
 import com.modsensoftware.marketplace.domain.Position;
+import com.modsensoftware.marketplace.dto.Company;
 import com.modsensoftware.marketplace.dto.request.CreatePositionRequest;
 import com.modsensoftware.marketplace.dto.request.UpdatePositionRequest;
 import com.modsensoftware.marketplace.dto.response.PositionResponse;
@@ -9,6 +10,12 @@ import com.modsensoftware.marketplace.dto.response.UserResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 /**
  * @author andrey.demyanchik on 11/3/2022
  */
@@ -53,6 +60,35 @@ public class PositionMapper {
                 .build();
     }
 
+    /**
+     * Joins positions with their creators. Positions whose creator is not present among
+     * the provided users are kept without the creator, only with id of their company.
+     */
+    public List<PositionResponse> toResponseDto(List<Position> positions, Collection<UserResponse> creators) {
+        Map<String, UserResponse> creatorsById = creators.stream()
+                .collect(Collectors.toMap(UserResponse::getId, Function.identity()));
+        return positions.stream()
+                .map(position -> {
+                    UserResponse creator = creatorsById.get(position.getCreatedBy());
+                    if (creator == null) {
+                        return toResponseDto(position);
+                    }
+                    return toResponseDto(position, creator);
+                })
+                .collect(Collectors.toList());
+    }
+
+    private PositionResponse toResponseDto(Position position) {
+        return new PositionResponse(
+                position.getId(),
+                position.getItem(),
+                Company.builder().id(position.getCompanyId()).build(),
+                null,
+                position.getCreated(),
+                position.getAmount(),
+                position.getMinAmount()
+        );
+    }
 
     public PositionResponse toResponseDto(Position position, UserResponse user) {
         return new PositionResponse(
@@ -0,0 +1,24 @@
+package com.modsensoftware.marketplace.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author andrey.demyanchik on 1/30/2023
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryTreeResponse {
+    private String id;
+    private String name;
+    private String description;
+    @Builder.Default
+    private List<CategoryTreeResponse> children = new ArrayList<>();
+}
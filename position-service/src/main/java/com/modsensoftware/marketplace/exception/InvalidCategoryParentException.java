@@ -0,0 +1,10 @@
+package com.modsensoftware.marketplace.exception;
+
+/**
+ * @author andrey.demyanchik on 1/30/2023
+ */
+public class InvalidCategoryParentException extends RuntimeException {
+    public InvalidCategoryParentException(String message) {
+        super(message);
+    }
+}
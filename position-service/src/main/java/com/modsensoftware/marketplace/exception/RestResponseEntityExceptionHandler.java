@@ -26,7 +26,9 @@ public class RestResponseEntityExceptionHandler {
 
     @ExceptionHandler(value = {
             OptimisticLockingFailureException.class,
-            NoVersionProvidedException.class
+            NoVersionProvidedException.class,
+            InvalidCursorException.class,
+            InvalidCategoryParentException.class
     })
     protected ResponseEntity<Object> handleBadRequest(RuntimeException ex) {
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
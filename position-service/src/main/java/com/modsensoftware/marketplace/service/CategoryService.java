@@ -2,6 +2,7 @@ package com.modsensoftware.marketplace.service;
 
 import com.modsensoftware.marketplace.domain.Category;
 import com.modsensoftware.marketplace.dto.CategoryDto;
+import com.modsensoftware.marketplace.dto.response.CategoryTreeResponse;
 import com.mongodb.client.result.DeleteResult;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -15,9 +16,13 @@ public interface CategoryService {
 
     Flux<Category> getAllCategories(int pageNumber);
 
+    Flux<Category> getAllCategories(String after);
+
     Mono<Category> createCategory(CategoryDto categoryDto);
 
     Mono<DeleteResult> deleteCategory(String id);
 
     Mono<Category> updateCategory(String id, CategoryDto updatedFields);
+
+    Mono<CategoryTreeResponse> getCategoryTree(String id);
 }
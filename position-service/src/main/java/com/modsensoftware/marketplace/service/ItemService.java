@@ -15,6 +15,8 @@ public interface ItemService {
 
     Flux<Item> getAllItems(int pageNumber);
 
+    Flux<Item> getAllItems(String after);
+
     Mono<Item> createItem(ItemDto itemDto);
 
     Mono<DeleteResult> deleteItem(String id);
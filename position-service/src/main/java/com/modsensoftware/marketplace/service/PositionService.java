@@ -9,6 +9,8 @@ import org.springframework.security.core.Authentication;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
 /**
  * @author andrey.demyanchik on 11/2/2022
  */
@@ -18,6 +20,15 @@ public interface PositionService {
 
     Flux<PositionResponse> getAllPositions(int pageNumber);
 
+    Flux<PositionResponse> getAllPositions(String after);
+
+    Flux<PositionResponse> getPositionsUnderCategory(String categoryId, int pageNumber);
+
+    Flux<PositionResponse> getPositionsByIds(Collection<String> ids);
+
+    Flux<PositionResponse> searchPositions(String text, int pageNumber, String categoryId,
+                                           Long companyId, Double minAmount, Double maxAmount);
+
     Mono<Position> createPosition(CreatePositionRequest createPositionRequest, Authentication authentication);
 
     Mono<DeleteResult> deletePosition(String id, Authentication authentication);
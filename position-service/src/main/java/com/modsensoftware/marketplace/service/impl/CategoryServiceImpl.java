@@ -5,20 +5,31 @@ import com.modsensoftware.marketplace.dao.CategoryDao;
 import com.modsensoftware.marketplace.domain.Category;
 import com.modsensoftware.marketplace.dto.CategoryDto;
 import com.modsensoftware.marketplace.dto.mapper.CategoryMapper;
+import com.modsensoftware.marketplace.dto.response.CategoryTreeResponse;
+import com.modsensoftware.marketplace.exception.EntityNotFoundException;
+import com.modsensoftware.marketplace.exception.InvalidCategoryParentException;
 import com.modsensoftware.marketplace.service.CategoryService;
 import com.mongodb.client.result.DeleteResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 import static com.modsensoftware.marketplace.constants.Constants.CATEGORIES_CACHE_NAME;
+import static com.modsensoftware.marketplace.constants.Constants.ITEMS_CACHE_NAME;
+import static com.modsensoftware.marketplace.constants.Constants.POSITIONS_CACHE_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.SINGLE_CATEGORY_CACHE_NAME;
+import static com.modsensoftware.marketplace.constants.Constants.SINGLE_ITEM_CACHE_NAME;
+import static com.modsensoftware.marketplace.constants.Constants.SINGLE_POSITION_CACHE_NAME;
+import static java.lang.String.format;
 
 /**
  * @author andrey.demyanchik on 11/2/2022
@@ -31,6 +42,11 @@ public class CategoryServiceImpl implements CategoryService {
     private final CategoryDao categoryDao;
     private final CategoryMapper categoryMapper;
 
+    @Value("${exception.message.categoryNotFound}")
+    private String categoryNotFoundMessage;
+    @Value("${exception.message.categoryParentIsDescendant}")
+    private String categoryParentIsDescendantMessage;
+
     @AsyncCacheable(cacheName = SINGLE_CATEGORY_CACHE_NAME, key = "#p1")
     @Override
     public Mono<Category> getCategoryById(String id) {
@@ -45,6 +61,13 @@ public class CategoryServiceImpl implements CategoryService {
         return categoryDao.getAll(pageNumber, Collections.emptyMap());
     }
 
+    @AsyncCacheable(cacheName = CATEGORIES_CACHE_NAME)
+    @Override
+    public Flux<Category> getAllCategories(String after) {
+        log.debug("Fetching all categories after cursor {}", after);
+        return categoryDao.getAll(after, Collections.emptyMap());
+    }
+
     @CacheEvict(cacheNames = CATEGORIES_CACHE_NAME, allEntries = true)
     @Override
     public Mono<Category> createCategory(CategoryDto categoryDto) {
@@ -53,29 +76,120 @@ public class CategoryServiceImpl implements CategoryService {
         if (category.getParent() != null) {
             return categoryDao.get(category.getParent().getId()).map(parent -> {
                 category.setParent(parent);
+                category.setAncestors(parent.childAncestors());
                 return category;
             }).flatMap(categoryDao::save);
         }
+        category.setAncestors(new ArrayList<>());
         return categoryDao.save(category);
     }
 
+    /**
+     * Children of the deleted category are attached to its parent. Other categories are rewritten
+     * one by one, so the deletion is not atomic. Every step is re-runnable and the category itself
+     * is removed last, so a deletion which failed halfway is completed by repeating it.
+     * As descendants and their copies embedded into items and positions are rewritten,
+     * all of these caches are cleared entirely. Copies are refreshed before the returned
+     * publisher completes, so the caches are not refilled with stale copies.
+     */
     @Caching(evict = {
-            @CacheEvict(cacheNames = SINGLE_CATEGORY_CACHE_NAME, key = "#id"),
-            @CacheEvict(cacheNames = CATEGORIES_CACHE_NAME, allEntries = true)
+            @CacheEvict(cacheNames = CATEGORIES_CACHE_NAME, allEntries = true),
+            @CacheEvict(cacheNames = SINGLE_CATEGORY_CACHE_NAME, allEntries = true),
+            @CacheEvict(cacheNames = SINGLE_ITEM_CACHE_NAME, allEntries = true),
+            @CacheEvict(cacheNames = ITEMS_CACHE_NAME, allEntries = true),
+            @CacheEvict(cacheNames = SINGLE_POSITION_CACHE_NAME, allEntries = true),
+            @CacheEvict(cacheNames = POSITIONS_CACHE_NAME, allEntries = true)
     })
     @Override
     public Mono<DeleteResult> deleteCategory(String id) {
         log.debug("Deleting category by id: {}", id);
-        return categoryDao.deleteById(id);
+        return categoryDao.get(id).flatMap(category -> categoryDao.getDescendants(id)
+                .filter(descendant -> descendant.getParent() != null && id.equals(descendant.getParent().getId()))
+                .concatMap(child -> categoryDao.update(child.getId(), Category.builder()
+                        .parent(category.getParent())
+                        .build()))
+                .then(rebaseDescendants(id, category.getAncestors() == null
+                        ? Collections.emptyList() : category.getAncestors()))
+                .then(Mono.defer(() -> categoryDao.deleteById(id))));
     }
 
+    /**
+     * Moving the category rewrites ancestors of all its descendants one by one, so the update
+     * is not atomic. Descendants are rebased on every update, so an update which failed halfway
+     * is completed by repeating it. As descendants and copies embedded into items and positions
+     * may be rewritten, all of these caches are cleared entirely. Copies are refreshed before
+     * the returned publisher completes, so the caches are not refilled with stale copies.
+     */
     @Caching(evict = {
             @CacheEvict(cacheNames = CATEGORIES_CACHE_NAME, allEntries = true),
-            @CacheEvict(cacheNames = SINGLE_CATEGORY_CACHE_NAME, key = "#id")
+            @CacheEvict(cacheNames = SINGLE_CATEGORY_CACHE_NAME, allEntries = true),
+            @CacheEvict(cacheNames = SINGLE_ITEM_CACHE_NAME, allEntries = true),
+            @CacheEvict(cacheNames = ITEMS_CACHE_NAME, allEntries = true),
+            @CacheEvict(cacheNames = SINGLE_POSITION_CACHE_NAME, allEntries = true),
+            @CacheEvict(cacheNames = POSITIONS_CACHE_NAME, allEntries = true)
     })
     @Override
     public Mono<Category> updateCategory(String id, CategoryDto updatedFields) {
         log.debug("Updating category with id: {}\nwith params: {}", id, updatedFields);
-        return categoryDao.update(id, categoryMapper.toCategory(updatedFields));
+        Category category = categoryMapper.toCategory(updatedFields);
+        Category parent = category.getParent();
+        Mono<Category> newParent = parent == null || parent.getId() == null ? Mono.empty() : categoryDao.get(parent.getId());
+        return newParent
+                .flatMap(candidate -> {
+                    if (candidate.childAncestors().contains(id)) {
+                        log.error("Attempt to move category with id {} under its descendant with id {}", id, candidate.getId());
+                        return Mono.error(new InvalidCategoryParentException(format(categoryParentIsDescendantMessage, id, candidate.getId())));
+                    }
+                    return Mono.empty();
+                })
+                .then(Mono.defer(() -> categoryDao.update(id, category)))
+                .flatMap(updated -> childAncestorsOf(updated.getParent()).flatMap(ancestors -> {
+                    if (ancestors.equals(updated.getAncestors())) {
+                        return Mono.just(updated);
+                    }
+                    log.debug("Category with id {} was moved in the tree. New ancestors: {}", id, ancestors);
+                    return categoryDao.updateAncestors(id, ancestors);
+                }))
+                // Descendants left behind by a previous failed move are rebased as well
+                .flatMap(updated -> rebaseDescendants(id, updated.childAncestors()).thenReturn(updated));
+    }
+
+    @Override
+    public Mono<CategoryTreeResponse> getCategoryTree(String id) {
+        log.debug("Fetching category tree starting from category with id: {}", id);
+        return categoryDao.getSubtree(id)
+                .collectList()
+                .flatMap(subtree -> {
+                    if (subtree.isEmpty()) {
+                        return Mono.error(new EntityNotFoundException(format(categoryNotFoundMessage, id)));
+                    }
+                    return Mono.just(categoryMapper.toTree(id, subtree));
+                });
+    }
+
+    /**
+     * Rewrites ancestors of all the category's descendants, so that
+     * everything up to and including the category is replaced with the prefix.
+     * Descendants already having the prefix are not rewritten.
+     */
+    private Mono<Void> rebaseDescendants(String id, List<String> prefix) {
+        return categoryDao.getDescendants(id)
+                .concatMap(descendant -> {
+                    List<String> oldAncestors = descendant.getAncestors();
+                    List<String> newAncestors = new ArrayList<>(prefix);
+                    newAncestors.addAll(oldAncestors.subList(oldAncestors.indexOf(id) + 1, oldAncestors.size()));
+                    if (newAncestors.equals(oldAncestors)) {
+                        return Mono.empty();
+                    }
+                    return categoryDao.updateAncestors(descendant.getId(), newAncestors);
+                })
+                .then();
+    }
+
+    private Mono<List<String>> childAncestorsOf(Category parent) {
+        if (parent == null) {
+            return Mono.just(new ArrayList<>());
+        }
+        return categoryDao.get(parent.getId()).map(Category::childAncestors);
     }
 }
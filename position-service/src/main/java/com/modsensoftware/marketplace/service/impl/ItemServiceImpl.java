@@ -22,7 +22,9 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 
 import static com.modsensoftware.marketplace.constants.Constants.ITEMS_CACHE_NAME;
+import static com.modsensoftware.marketplace.constants.Constants.POSITIONS_CACHE_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.SINGLE_ITEM_CACHE_NAME;
+import static com.modsensoftware.marketplace.constants.Constants.SINGLE_POSITION_CACHE_NAME;
 
 /**
  * @author andrey.demyanchik on 11/2/2022
@@ -53,6 +55,13 @@ public class ItemServiceImpl implements ItemService {
         return itemDao.getAll(pageNumber, Collections.emptyMap());
     }
 
+    @AsyncCacheable(cacheName = ITEMS_CACHE_NAME)
+    @Override
+    public Flux<Item> getAllItems(String after) {
+        log.debug("Fetching all items after cursor {}", after);
+        return itemDao.getAll(after, Collections.emptyMap());
+    }
+
     @CacheEvict(cacheNames = ITEMS_CACHE_NAME, allEntries = true)
     @Override
     public Mono<Item> createItem(ItemDto itemDto) {
@@ -77,7 +86,9 @@ public class ItemServiceImpl implements ItemService {
 
     @Caching(evict = {
             @CacheEvict(cacheNames = SINGLE_ITEM_CACHE_NAME, key = "#id"),
-            @CacheEvict(cacheNames = ITEMS_CACHE_NAME, allEntries = true)
+            @CacheEvict(cacheNames = ITEMS_CACHE_NAME, key = "#id"),
+            @CacheEvict(cacheNames = SINGLE_POSITION_CACHE_NAME, allEntries = true),
+            @CacheEvict(cacheNames = POSITIONS_CACHE_NAME, allEntries = true)
     })
     @Override
     public Mono<Item> updateItem(String id, ItemDto updatedFields) {
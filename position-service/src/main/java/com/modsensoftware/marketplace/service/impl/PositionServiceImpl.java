@@ -3,6 +3,7 @@ package com.modsensoftware.marketplace.service.impl;
 import com.modsensoftware.marketplace.config.cache.AsyncCacheable;
 import com.modsensoftware.marketplace.dao.ItemDao;
 import com.modsensoftware.marketplace.dao.PositionDao;
+import com.modsensoftware.marketplace.domain.Item;
 import com.modsensoftware.marketplace.domain.Position;
 import com.modsensoftware.marketplace.dto.mapper.PositionMapper;
 import com.modsensoftware.marketplace.dto.request.CreatePositionRequest;
@@ -12,6 +13,7 @@ import com.modsensoftware.marketplace.exception.EntityNotFoundException;
 import com.modsensoftware.marketplace.exception.NoVersionProvidedException;
 import com.modsensoftware.marketplace.exception.UnauthorizedOperationException;
 import com.modsensoftware.marketplace.service.PositionService;
+import com.modsensoftware.marketplace.utils.Utils;
 import com.mongodb.client.result.DeleteResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,8 +26,18 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import static com.modsensoftware.marketplace.constants.Constants.CATEGORY_ID_FILTER_NAME;
+import static com.modsensoftware.marketplace.constants.Constants.COMPANY_ID_FILTER_NAME;
+import static com.modsensoftware.marketplace.constants.Constants.MAX_AMOUNT_FILTER_NAME;
+import static com.modsensoftware.marketplace.constants.Constants.MIN_AMOUNT_FILTER_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.POSITIONS_CACHE_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.SINGLE_POSITION_CACHE_NAME;
 import static java.lang.String.format;
@@ -49,12 +61,14 @@ public class PositionServiceImpl implements PositionService {
     private String positionCreatedByAnotherPersonMessage;
     @Value("${exception.message.creatorNotFound}")
     private String creatorNotFoundMessage;
+    @Value("${storage.item-reference.enabled}")
+    private boolean itemReferenceStorageEnabled;
 
     @AsyncCacheable(cacheName = SINGLE_POSITION_CACHE_NAME, key = "#p1")
     @Override
     public Mono<PositionResponse> getPositionById(String id) {
         log.debug("Fetching position by id: {}", id);
-        return positionDao.get(id).flatMap(position -> {
+        return positionDao.get(id).flatMap(position -> withItems(List.of(position)).thenReturn(position)).flatMap(position -> {
             log.debug("Fetching user by id: {}", position.getCreatedBy());
             return userClient.getUserById(position.getCreatedBy())
                     .onErrorMap(error -> new EntityNotFoundException(creatorNotFoundMessage))
@@ -67,11 +81,60 @@ public class PositionServiceImpl implements PositionService {
     public Flux<PositionResponse> getAllPositions(int pageNumber) {
         log.debug("Fetching all positions for page {}", pageNumber);
         return positionDao.getAll(pageNumber, Collections.emptyMap())
-                .flatMap(position -> userClient.getUserById(position.getCreatedBy())
-                        .doOnError(error -> log.trace("{}", creatorNotFoundMessage, error))
-                        .onErrorResume(e -> Mono.empty())
-                        .map(user -> positionMapper.toResponseDto(position, user))
-                );
+                .collectList()
+                .flatMap(this::withItems)
+                .flatMapMany(this::withCreators);
+    }
+
+    @AsyncCacheable(cacheName = POSITIONS_CACHE_NAME)
+    @Override
+    public Flux<PositionResponse> getAllPositions(String after) {
+        log.debug("Fetching all positions after cursor {}", after);
+        return positionDao.getAll(after, Collections.emptyMap())
+                .collectList()
+                .flatMap(this::withItems)
+                .flatMapMany(this::withCreators);
+    }
+
+    @Override
+    public Flux<PositionResponse> getPositionsUnderCategory(String categoryId, int pageNumber) {
+        log.debug("Fetching positions under category {} for page {}", categoryId, pageNumber);
+        return positionDao.getAllUnderCategory(categoryId, pageNumber)
+                .collectList()
+                .flatMap(this::withItems)
+                .flatMapMany(this::withCreators);
+    }
+
+    @Override
+    public Flux<PositionResponse> getPositionsByIds(Collection<String> ids) {
+        log.debug("Fetching positions by ids: {}", ids);
+        return positionDao.getAllByIds(ids)
+                .collectList()
+                .flatMap(this::withItems)
+                .flatMapMany(this::withCreators);
+    }
+
+    @Override
+    public Flux<PositionResponse> searchPositions(String text, int pageNumber, String categoryId,
+                                                  Long companyId, Double minAmount, Double maxAmount) {
+        log.debug("Searching positions by text '{}' for page {}. "
+                        + "Filter by category id: {}, company id: {}, amount from {} to {}",
+                text, pageNumber, categoryId, companyId, minAmount, maxAmount);
+        Map<String, String> filterProperties = new HashMap<>();
+        Utils.putIfNotNull(CATEGORY_ID_FILTER_NAME, categoryId, filterProperties::put);
+        if (companyId != null) {
+            filterProperties.put(COMPANY_ID_FILTER_NAME, companyId.toString());
+        }
+        if (minAmount != null) {
+            filterProperties.put(MIN_AMOUNT_FILTER_NAME, minAmount.toString());
+        }
+        if (maxAmount != null) {
+            filterProperties.put(MAX_AMOUNT_FILTER_NAME, maxAmount.toString());
+        }
+        return positionDao.search(text, pageNumber, filterProperties)
+                .collectList()
+                .flatMap(this::withItems)
+                .flatMapMany(this::withCreators);
     }
 
     @CacheEvict(cacheNames = POSITIONS_CACHE_NAME, allEntries = true)
@@ -88,7 +151,7 @@ public class PositionServiceImpl implements PositionService {
             Position position = positionMapper.toPosition(createPositionRequest, user);
             position.setCreated(LocalDateTime.now());
             return itemDao.get(position.getItem().getId()).map(item -> {
-                position.setItem(item);
+                position.setItem(itemReferenceStorageEnabled ? item.toSnapshot() : item);
                 return position;
             }).flatMap(positionDao::save);
         });
@@ -125,4 +188,43 @@ public class PositionServiceImpl implements PositionService {
             }
         });
     }
+
+    /**
+     * Replaces item snapshots of the positions with the full items fetched with a single query.
+     * Positions whose items no longer exist keep their snapshots.
+     */
+    private Mono<List<Position>> withItems(List<Position> positions) {
+        if (!itemReferenceStorageEnabled || positions.isEmpty()) {
+            return Mono.just(positions);
+        }
+        Set<String> itemIds = positions.stream()
+                .map(position -> position.getItem().getId())
+                .collect(Collectors.toSet());
+        log.debug("Fetching items by ids: {}", itemIds);
+        return itemDao.getAllByIds(itemIds)
+                .collectMap(Item::getId)
+                .map(items -> {
+                    positions.forEach(position -> Utils.setIfNotNull(items.get(position.getItem().getId()), position::setItem));
+                    return positions;
+                });
+    }
+
+    /**
+     * Fetches creators of all the positions with a single request and joins them with the positions.
+     * Positions whose creators are not found are returned without them, but failures of the request
+     * are propagated, so callers never mistake existing positions for absent ones.
+     */
+    private Flux<PositionResponse> withCreators(List<Position> positions) {
+        if (positions.isEmpty()) {
+            return Flux.empty();
+        }
+        Set<String> creatorIds = positions.stream()
+                .map(Position::getCreatedBy)
+                .collect(Collectors.toSet());
+        log.debug("Fetching users by ids: {}", creatorIds);
+        return userClient.getUsersByIds(creatorIds)
+                .doOnError(error -> log.error("Could not fetch creators of positions by ids: {}", creatorIds, error))
+                .collectList()
+                .flatMapIterable(creators -> positionMapper.toResponseDto(positions, creators));
+    }
 }
@@ -1,18 +1,27 @@
 package com.modsensoftware.marketplace.service.impl;
 
 import com.modsensoftware.marketplace.dao.PositionDao;
+import com.modsensoftware.marketplace.domain.Position;
+import com.modsensoftware.marketplace.dto.OrderRequest;
 import com.modsensoftware.marketplace.dto.PlacedUserTransaction;
 import com.modsensoftware.marketplace.dto.UserTransactionStatus;
 import com.modsensoftware.marketplace.service.TransactionProcessingKafkaConsumer;
 import com.modsensoftware.marketplace.service.TransactionStatusKafkaProducer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.reactive.ReactiveKafkaConsumerTemplate;
 import org.springframework.stereotype.Component;
-import reactor.core.publisher.Flux;
+import reactor.core.Disposable;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
+import javax.annotation.PreDestroy;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -25,38 +34,108 @@ public class TransactionProcessingKafkaConsumerImpl implements TransactionProces
 
     private final PositionDao positionDao;
     private final TransactionStatusKafkaProducer producer;
+    private final ReactiveKafkaConsumerTemplate<String, PlacedUserTransaction> kafkaConsumerTemplate;
+
+    @Value("${topics.transactionsPlacedForProcessing.retries}")
+    private int retries;
+
+    private static final Duration RESUBSCRIBE_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration RETRY_BACKOFF = Duration.ofMillis(200);
+
+    private Disposable subscription;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        log.info("Subscribing to transactions placed for processing");
+        // Partitions are processed in parallel, but records of a partition are processed one by one,
+        // so transactions of a partition do not race for stock. A record is acknowledged only after
+        // the status of its transaction is published. If even the rejection can not be published,
+        // the consumer fails and resubscribes, so the unacknowledged records are consumed again.
+        subscription = kafkaConsumerTemplate.receive()
+                .groupBy(receiverRecord -> receiverRecord.receiverOffset().topicPartition())
+                .flatMap(partitionRecords -> partitionRecords
+                        .concatMap(receiverRecord -> processOrReject(receiverRecord.value())
+                                .thenReturn(receiverRecord))
+                        .doOnNext(receiverRecord -> receiverRecord.receiverOffset().acknowledge()))
+                .doOnError(error -> log.error("Transactions processing consumer failed. Resubscribing", error))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, RESUBSCRIBE_BACKOFF))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
 
-    @KafkaListener(topics = "${topics.transactionsPlacedForProcessing.name}",
-            groupId = "${topics.transactionsPlacedForProcessing.groupId}")
     @Override
-    public void consumeTransactionProcessing(PlacedUserTransaction placedUserTransaction) {
+    public Mono<PlacedUserTransaction> consumeTransactionProcessing(PlacedUserTransaction placedUserTransaction) {
         log.info("Consumed user transaction for processing: {}", placedUserTransaction);
-        List<Boolean> validationResults = placedUserTransaction.getOrderLine().stream()
-                .map(order -> positionDao.get(order.getPositionId())
-                        .onErrorStop()
-                        .map(position -> {
-                            double orderAmount = order.getAmount().doubleValue();
-                            return position.getAmount() > orderAmount || position.getMinAmount() < orderAmount;
-                        })).map(Mono::block)
-                .collect(Collectors.toList());
-        long invalidOrdersAmount = validationResults.stream().filter(Boolean.FALSE::equals).count();
-        if (validationResults.size() < placedUserTransaction.getOrderLine().size() || invalidOrdersAmount > 0) {
-            log.error("Found orders that did not pass validation. Transaction is rejected. Publishing to results topic.");
-            placedUserTransaction.setStatus(UserTransactionStatus.REJECTED);
-            producer.publishUserTransactionStatus(placedUserTransaction).subscribe();
-        } else {
-            log.info("Validation passed successfully. Decreasing positions' amounts.");
-            Flux.fromIterable(placedUserTransaction.getOrderLine())
-                    .subscribe(orderRequestDto -> {
-                        positionDao.get(orderRequestDto.getPositionId()).subscribe(position -> {
-                            double orderAmount = orderRequestDto.getAmount().doubleValue();
-                            position.setAmount(position.getAmount() - orderAmount);
-                            positionDao.update(position.getId(), position).subscribe();
-                        });
-                        log.info("Transaction processed successfully. Publishing to results topic.");
-                        placedUserTransaction.setStatus(UserTransactionStatus.SUCCESS);
-                        producer.publishUserTransactionStatus(placedUserTransaction).subscribe();
+        Map<String, Double> orderedAmounts = orderedAmounts(placedUserTransaction);
+        return positionDao.getAllByIds(orderedAmounts.keySet())
+                .collectList()
+                .flatMap(positions -> {
+                    if (!isOrderLineValid(placedUserTransaction.getId(), orderedAmounts, positions)) {
+                        log.error("Found orders that did not pass validation. Transaction is rejected.");
+                        return Mono.just(UserTransactionStatus.REJECTED);
+                    }
+                    log.info("Validation passed successfully. Decreasing positions' amounts.");
+                    return positionDao.decreaseAmounts(placedUserTransaction.getId(), orderedAmounts).map(isDecreased -> {
+                        if (!isDecreased) {
+                            log.error("Positions ran out of stock while processing. Transaction is rejected.");
+                            return UserTransactionStatus.REJECTED;
+                        }
+                        return UserTransactionStatus.SUCCESS;
                     });
+                })
+                .flatMap(status -> {
+                    log.info("Transaction processed with status {}. Publishing to results topic.", status);
+                    placedUserTransaction.setStatus(status);
+                    return producer.publishUserTransactionStatus(placedUserTransaction);
+                })
+                .thenReturn(placedUserTransaction);
+    }
+
+    /**
+     * Processes the transaction retrying failures with backoff. If the transaction still can not
+     * be processed, its decreased amounts are reverted and it is published as rejected.
+     */
+    public Mono<PlacedUserTransaction> processOrReject(PlacedUserTransaction placedUserTransaction) {
+        return consumeTransactionProcessing(placedUserTransaction)
+                .retryWhen(Retry.backoff(retries, RETRY_BACKOFF)
+                        .doBeforeRetry(signal -> log.warn("Retrying processing of user transaction {}",
+                                placedUserTransaction.getId(), signal.failure())))
+                .onErrorResume(error -> {
+                    log.error("Failed to process user transaction: {}. Transaction is rejected",
+                            placedUserTransaction, error);
+                    return positionDao.revertAmounts(placedUserTransaction.getId(), orderedAmounts(placedUserTransaction))
+                            .then(Mono.defer(() -> {
+                                placedUserTransaction.setStatus(UserTransactionStatus.REJECTED);
+                                return producer.publishUserTransactionStatus(placedUserTransaction);
+                            }))
+                            .thenReturn(placedUserTransaction);
+                });
+    }
+
+    private Map<String, Double> orderedAmounts(PlacedUserTransaction placedUserTransaction) {
+        // The same position may appear in several orders of the line
+        return placedUserTransaction.getOrderLine().stream()
+                .collect(Collectors.groupingBy(OrderRequest::getPositionId,
+                        Collectors.summingDouble(order -> order.getAmount().doubleValue())));
+    }
+
+    private boolean isOrderLineValid(Long transactionId, Map<String, Double> orderedAmounts, List<Position> positions) {
+        if (positions.size() < orderedAmounts.size()) {
+            log.error("Some of the ordered positions are not present");
+            return false;
         }
+        return positions.stream().allMatch(position -> {
+            double orderAmount = orderedAmounts.get(position.getId());
+            // Amount of the position was already decreased if the transaction is redelivered
+            boolean isDecreased = position.getAppliedTransactionIds() != null
+                    && position.getAppliedTransactionIds().contains(transactionId);
+            return (isDecreased || position.getAmount() >= orderAmount) && position.getMinAmount() <= orderAmount;
+        });
     }
 }
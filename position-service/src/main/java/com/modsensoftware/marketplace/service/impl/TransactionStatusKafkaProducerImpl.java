@@ -25,6 +25,8 @@ public class TransactionStatusKafkaProducerImpl implements TransactionStatusKafk
     @Override
     public Mono<Void> publishUserTransactionStatus(PlacedUserTransaction placedUserTransaction) {
         log.info("Publishing the result of user transaction processing: {}", placedUserTransaction);
-        return kafkaTemplate.send(processedTransactionsTopicName, placedUserTransaction).then();
+        // Keyed by transaction id, so statuses of a transaction are consumed in order
+        return kafkaTemplate.send(processedTransactionsTopicName,
+                String.valueOf(placedUserTransaction.getId()), placedUserTransaction).then();
     }
 }
@@ -5,9 +5,14 @@ import com.modsensoftware.marketplace.dto.response.UserResponse;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import reactivefeign.spring.config.ReactiveFeignClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
+import static com.modsensoftware.marketplace.constants.Constants.IDS_FILTER_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.ID_PATH_VARIABLE_NAME;
 
 /**
@@ -23,4 +28,7 @@ public interface UserClient {
 
     @RequestMapping(value = "{id}", produces = {"application/json"}, method = RequestMethod.GET)
     Mono<UserResponse> getUserById(@PathVariable(name = ID_PATH_VARIABLE_NAME) String id);
+
+    @RequestMapping(produces = {"application/json"}, method = RequestMethod.GET)
+    Flux<UserResponse> getUsersByIds(@RequestParam(name = IDS_FILTER_NAME) Collection<String> ids);
 }
@@ -0,0 +1,72 @@
+package com.modsensoftware.marketplace.utils;
+
+import com.modsensoftware.marketplace.exception.InvalidCursorException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import static com.modsensoftware.marketplace.constants.Constants.INVALID_CURSOR_MESSAGE;
+import static com.modsensoftware.marketplace.constants.Constants.MONGO_ID_FIELD_NAME;
+import static com.modsensoftware.marketplace.constants.Constants.NEXT_CURSOR_HEADER_NAME;
+
+/**
+ * Opaque cursor used for keyset pagination. The cursor holds id
+ * of the last document of the previous page, so the next page is
+ * fetched with an index range scan on {@code _id} instead of skipping
+ * all the preceding documents.
+ *
+ * @author andrey.demyanchik on 1/30/2023
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PageCursor {
+
+    public static String encode(String id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return id of the last document of the previous page. Ids are stored as
+     * {@link ObjectId}, so the decoded id has to be converted to be comparable with them
+     * @throws InvalidCursorException if the cursor is not an encoded hex {@link ObjectId}
+     */
+    public static ObjectId decode(String cursor) {
+        try {
+            return new ObjectId(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(INVALID_CURSOR_MESSAGE, e);
+        }
+    }
+
+    /**
+     * @param after cursor returned with the previous page, null or empty for the first page
+     * @return query for the page of documents ordered by {@code _id}
+     */
+    public static Query afterQuery(String after, int pageSize) {
+        Query query = new Query().with(Sort.by(Sort.Direction.ASC, MONGO_ID_FIELD_NAME)).limit(pageSize);
+        if (after != null && !after.isEmpty()) {
+            query.addCriteria(Criteria.where(MONGO_ID_FIELD_NAME).gt(decode(after)));
+        }
+        return query;
+    }
+
+    /**
+     * Wraps the page into response carrying the cursor of the next page in a header.
+     * The header is omitted for an empty page, which means there are no more pages.
+     */
+    public static <T> ResponseEntity<List<T>> toPageResponse(List<T> page, Function<T, String> idExtractor) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!page.isEmpty()) {
+            response.header(NEXT_CURSOR_HEADER_NAME, encode(idExtractor.apply(page.get(page.size() - 1))));
+        }
+        return response.body(page);
+    }
+}
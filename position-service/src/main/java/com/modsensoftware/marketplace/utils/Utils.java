@@ -24,4 +24,10 @@ public class Utils {
         }
         return false;
     }
+
+    public static <R, U> void putIfNotNull(R key, U value, BiConsumer<R, U> put) {
+        if (Objects.nonNull(key) && Objects.nonNull(value)) {
+            put.accept(key, value);
+        }
+    }
 }
@@ -10,6 +10,7 @@ import org.springframework.http.MediaType;
 import org.springframework.util.StreamUtils;
 
 import java.io.IOException;
+import java.util.StringJoiner;
 
 import static java.lang.String.format;
 import static java.nio.charset.Charset.defaultCharset;
@@ -38,6 +39,23 @@ public class UserStubs {
                 ));
     }
 
+    public static void setupGetUsersWithIds(WireMockServer mockServer, String... userIds) throws IOException {
+        StringJoiner users = new StringJoiner(",", "[", "]");
+        for (String userId : userIds) {
+            users.add(StreamUtils.copyToString(
+                    UserStubs.class.getClassLoader()
+                            .getResourceAsStream(format("stubs/get-user-%s-response.json", userId)),
+                    defaultCharset()));
+        }
+        mockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo("/api/v1/users"))
+                .willReturn(
+                        WireMock.aResponse()
+                                .withStatus(HttpStatus.OK.value())
+                                .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                                .withBody(users.toString())
+                ));
+    }
+
     public static void setupDeterministicGetUserWithId(WireMockServer mockServer, String userId) throws IOException {
         UserResponse user = new UserResponse(userId, "test-storage-manager",
                 "email@email.com", "full name", now(), now(), Company.builder().id(999L).build());
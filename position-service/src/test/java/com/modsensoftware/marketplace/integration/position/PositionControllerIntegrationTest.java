@@ -162,10 +162,10 @@ public class PositionControllerIntegrationTest extends AbstractIntegrationTest {
     @Order(5)
     @Test
     public void shouldReturnAllPositionsWithNonSoftDeletedCompany() throws IOException {
-        UserStubs.setupGetUserWithId(wireMockServer1, "c048ef0e-fe46-4c65-9c01-d88af74ba0ab");
-        UserStubs.setupGetUserWithId(wireMockServer2, "c048ef0e-fe46-4c65-9c01-d88af74ba0ab");
-        UserStubs.setupGetUserWithId(wireMockServer1, "722cd920-e127-4cc2-93b9-e9b4a8f18873");
-        UserStubs.setupGetUserWithId(wireMockServer2, "722cd920-e127-4cc2-93b9-e9b4a8f18873");
+        UserStubs.setupGetUsersWithIds(wireMockServer1,
+                "c048ef0e-fe46-4c65-9c01-d88af74ba0ab", "722cd920-e127-4cc2-93b9-e9b4a8f18873");
+        UserStubs.setupGetUsersWithIds(wireMockServer2,
+                "c048ef0e-fe46-4c65-9c01-d88af74ba0ab", "722cd920-e127-4cc2-93b9-e9b4a8f18873");
         PositionResponse[] positions = RestAssured.given()
                 .contentType("application/json")
                 .header("Authorization", "Bearer " + accessToken)
@@ -179,10 +179,10 @@ public class PositionControllerIntegrationTest extends AbstractIntegrationTest {
     @Order(6)
     @Test
     public void shouldLoadBalanceGetAllPositions() throws IOException {
-        UserStubs.setupGetUserWithId(wireMockServer1, "c048ef0e-fe46-4c65-9c01-d88af74ba0ab");
-        UserStubs.setupGetUserWithId(wireMockServer2, "c048ef0e-fe46-4c65-9c01-d88af74ba0ab");
-        UserStubs.setupGetUserWithId(wireMockServer1, "722cd920-e127-4cc2-93b9-e9b4a8f18873");
-        UserStubs.setupGetUserWithId(wireMockServer2, "722cd920-e127-4cc2-93b9-e9b4a8f18873");
+        UserStubs.setupGetUsersWithIds(wireMockServer1,
+                "c048ef0e-fe46-4c65-9c01-d88af74ba0ab", "722cd920-e127-4cc2-93b9-e9b4a8f18873");
+        UserStubs.setupGetUsersWithIds(wireMockServer2,
+                "c048ef0e-fe46-4c65-9c01-d88af74ba0ab", "722cd920-e127-4cc2-93b9-e9b4a8f18873");
         for (int i = 0; i < 10; i++) {
             RestAssured.given()
                     .contentType("application/json")
@@ -192,10 +192,9 @@ public class PositionControllerIntegrationTest extends AbstractIntegrationTest {
                     .then().statusCode(200);
         }
         wireMockServer1.verify(WireMock.moreThan(0),
-                WireMock.getRequestedFor(WireMock.urlEqualTo("/api/v1/users/722cd920-e127-4cc2-93b9-e9b4a8f18873")));
+                WireMock.getRequestedFor(WireMock.urlPathEqualTo("/api/v1/users")));
         wireMockServer2.verify(WireMock.moreThan(0),
-                WireMock.getRequestedFor(WireMock.urlEqualTo("/api/v1/users/722cd920-e127-4cc2-93b9-e9b4a8f18873")));
-
+                WireMock.getRequestedFor(WireMock.urlPathEqualTo("/api/v1/users")));
     }
 
     @Order(7)
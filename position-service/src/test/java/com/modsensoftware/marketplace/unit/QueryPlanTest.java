@@ -0,0 +1,85 @@
+package com.modsensoftware.marketplace.unit;
+
+import com.modsensoftware.marketplace.config.MongoIndexInitializer;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.gt;
+import static com.mongodb.client.model.Filters.or;
+import static com.mongodb.client.model.Filters.text;
+import static com.mongodb.client.model.Sorts.ascending;
+import static com.mongodb.client.model.Sorts.descending;
+
+/**
+ * Verifies that hot queries of the DAOs are served by the indexes
+ * ensured by {@link MongoIndexInitializer} and never fall back to COLLSCAN.
+ *
+ * @author andrey.demyanchik on 1/30/2023
+ */
+public class QueryPlanTest extends AbstractDaoTest {
+
+    private static final String COLLECTION_SCAN_STAGE = "COLLSCAN";
+
+    @BeforeEach
+    void setUp() {
+        new MongoIndexInitializer(mongoTemplate).createIndexes().blockLast();
+    }
+
+    private static Stream<Arguments> hotQueries() {
+        ObjectId id = new ObjectId();
+        return Stream.of(
+                Arguments.of("positions", gt("_id", id), ascending("_id")),
+                Arguments.of("positions", eq("item._id", id), new Document()),
+                Arguments.of("positions", eq("item.category._id", id), new Document()),
+                Arguments.of("positions", or(eq("item.category._id", id), eq("item.category.ancestors", id.toHexString())),
+                        ascending("_id")),
+                Arguments.of("positions", eq("companyId", 1L), new Document()),
+                Arguments.of("positions", eq("createdBy", "user"), new Document()),
+                Arguments.of("positions", text("laptop"), new Document()),
+                Arguments.of("positions", new Document(), descending("created")),
+                Arguments.of("items", gt("_id", id), ascending("_id")),
+                Arguments.of("items", eq("category._id", id), new Document()),
+                Arguments.of("items", new Document(), descending("created")),
+                Arguments.of("categories", gt("_id", id), ascending("_id")),
+                Arguments.of("categories", or(eq("_id", id), eq("ancestors", id.toHexString())), new Document())
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("hotQueries")
+    public void hotQueryShouldNotScanWholeCollection(String collectionName, Bson filter, Bson sort) {
+        // when
+        Mono<Document> explained = mongoTemplate.getCollection(collectionName)
+                .flatMap(collection -> Mono.from(collection.find(filter).sort(sort).limit(1).explain(Document.class)));
+
+        // then
+        explained.as(StepVerifier::create)
+                .expectNextMatches(explanation -> !containsStage(
+                        explanation.get("queryPlanner", Document.class).get("winningPlan"), COLLECTION_SCAN_STAGE))
+                .verifyComplete();
+    }
+
+    private static boolean containsStage(Object plan, String stage) {
+        if (plan instanceof Map) {
+            Map<?, ?> planStage = (Map<?, ?>) plan;
+            return stage.equals(planStage.get("stage"))
+                    || planStage.values().stream().anyMatch(value -> containsStage(value, stage));
+        }
+        if (plan instanceof Collection) {
+            return ((Collection<?>) plan).stream().anyMatch(value -> containsStage(value, stage));
+        }
+        return false;
+    }
+}
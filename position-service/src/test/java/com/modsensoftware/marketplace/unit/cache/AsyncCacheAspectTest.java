@@ -0,0 +1,238 @@
+package com.modsensoftware.marketplace.unit.cache;
+
+import com.modsensoftware.marketplace.config.cache.AsyncCacheAspect;
+import com.modsensoftware.marketplace.config.cache.NearCache;
+import com.modsensoftware.marketplace.dao.PositionDao;
+import com.modsensoftware.marketplace.domain.Item;
+import com.modsensoftware.marketplace.domain.Position;
+import com.modsensoftware.marketplace.service.impl.CategoryServiceImpl;
+import com.modsensoftware.marketplace.service.impl.ItemServiceImpl;
+import com.mongodb.client.result.DeleteResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.reactivestreams.Publisher;
+import org.springframework.data.redis.connection.ReactiveKeyCommands;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.ReactiveSetCommands;
+import org.springframework.data.redis.connection.ReactiveSetCommands.SAddCommand;
+import org.springframework.data.redis.connection.ReactiveStringCommands;
+import org.springframework.data.redis.connection.ReactiveStringCommands.SetCommand;
+import org.springframework.data.redis.core.ReactiveRedisCallback;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveSetOperations;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author andrey.demyanchik on 1/30/2023
+ */
+@ExtendWith(MockitoExtension.class)
+public class AsyncCacheAspectTest {
+
+    @Mock
+    private ReactiveRedisTemplate<String, Object> redisTemplate;
+    @Mock
+    private ReactiveValueOperations<String, Object> valueOperations;
+    @Mock
+    private ReactiveSetOperations<String, Object> setOperations;
+    @Mock
+    private ReactiveRedisConnection connection;
+    @Mock
+    private ReactiveStringCommands stringCommands;
+    @Mock
+    private ReactiveSetCommands setCommands;
+    @Mock
+    private ReactiveKeyCommands keyCommands;
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+    @Mock
+    private MethodSignature signature;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AsyncCacheAspect underTest;
+
+    private static final String ITEM_ID = "12345";
+    private static final String REDIS_KEY = "item::" + ITEM_ID;
+    private static final RedisSerializationContext<String, Object> SERIALIZATION_CONTEXT
+            = RedisSerializationContext.<String, Object>newSerializationContext(new StringRedisSerializer())
+            .value(new Jackson2JsonRedisSerializer<>(Object.class))
+            .build();
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        meterRegistry = new SimpleMeterRegistry();
+        NearCache nearCache = new NearCache(redisTemplate, meterRegistry, 100, 60, "cacheEvictionsTest");
+        underTest = new AsyncCacheAspect(redisTemplate, nearCache, meterRegistry, 60, 60, 60);
+        ReflectionTestUtils.setField(underTest, "maxWritesInFlight", 1);
+        BDDMockito.given(joinPoint.getSignature()).willReturn(signature);
+        BDDMockito.given(signature.getMethod()).willReturn(ItemServiceImpl.class.getMethod("getItemById", String.class));
+        BDDMockito.lenient().when(joinPoint.getArgs()).thenReturn(new Object[]{ITEM_ID});
+        BDDMockito.lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    public void concurrentMissesShouldShareSingleExecution() throws Throwable {
+        // given
+        Item item = Item.builder().id(ITEM_ID).build();
+        BDDMockito.given(valueOperations.get(REDIS_KEY)).willReturn(Mono.empty());
+        BDDMockito.given(redisTemplate.getSerializationContext()).willReturn(SERIALIZATION_CONTEXT);
+        BDDMockito.given(redisTemplate.execute(BDDMockito.any(ReactiveRedisCallback.class))).willReturn(Flux.empty());
+        BDDMockito.given(joinPoint.proceed()).willReturn(Mono.just(item).delayElement(Duration.ofMillis(100)));
+
+        // when
+        Mono<?> first = (Mono<?>) underTest.cacheable(joinPoint);
+        Mono<?> second = (Mono<?>) underTest.cacheable(joinPoint);
+
+        // then
+        StepVerifier.create(Mono.zip(first, second))
+                .expectNextMatches(results -> results.getT1() == item && results.getT2() == item)
+                .verifyComplete();
+        BDDMockito.verify(joinPoint, BDDMockito.times(1)).proceed();
+        BDDMockito.verify(valueOperations, BDDMockito.times(1)).get(REDIS_KEY);
+    }
+
+    @Test
+    public void shouldNotCacheValueIfTooManyWritesAreInFlight() throws Throwable {
+        // given
+        Item item = Item.builder().id(ITEM_ID).build();
+        BDDMockito.given(valueOperations.get(REDIS_KEY)).willReturn(Mono.empty());
+        BDDMockito.given(redisTemplate.getSerializationContext()).willReturn(SERIALIZATION_CONTEXT);
+        BDDMockito.given(redisTemplate.execute(BDDMockito.any(ReactiveRedisCallback.class))).willReturn(Flux.never());
+        BDDMockito.given(joinPoint.proceed()).willReturn(Mono.just(item));
+        BDDMockito.given(joinPoint.getArgs()).willReturn(new Object[]{ITEM_ID}, new Object[]{"54321"});
+        BDDMockito.given(valueOperations.get("item::54321")).willReturn(Mono.empty());
+
+        // when
+        ((Mono<?>) underTest.cacheable(joinPoint)).subscribe();
+        Mono<?> second = (Mono<?>) underTest.cacheable(joinPoint);
+
+        // then
+        StepVerifier.create(second).expectNextCount(1).verifyComplete();
+        BDDMockito.verify(redisTemplate, BDDMockito.times(1)).execute(BDDMockito.any(ReactiveRedisCallback.class));
+        Assertions.assertThat(meterRegistry.counter("cache.writes.skipped", "cache", "item").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void pageWritesShouldBeIssuedWithoutWaitingForReplies() throws Throwable {
+        // given
+        List<Item> items = List.of(Item.builder().id("1").build(), Item.builder().id("2").build());
+        BDDMockito.given(signature.getMethod()).willReturn(ItemServiceImpl.class.getMethod("getAllItems", int.class));
+        BDDMockito.given(joinPoint.getArgs()).willReturn(new Object[]{0});
+        BDDMockito.given(valueOperations.get("items::0")).willReturn(Mono.empty());
+        BDDMockito.given(redisTemplate.getSerializationContext()).willReturn(SERIALIZATION_CONTEXT);
+        BDDMockito.given(joinPoint.proceed()).willReturn(Flux.fromIterable(items));
+        BDDMockito.given(connection.stringCommands()).willReturn(stringCommands);
+        BDDMockito.given(connection.setCommands()).willReturn(setCommands);
+        BDDMockito.given(connection.keyCommands()).willReturn(keyCommands);
+        // Redis never replies
+        BDDMockito.given(stringCommands.set(BDDMockito.<Publisher<SetCommand>>any())).willReturn(Flux.never());
+        BDDMockito.given(setCommands.sAdd(BDDMockito.<Publisher<SAddCommand>>any())).willReturn(Flux.never());
+        BDDMockito.given(redisTemplate.execute(BDDMockito.any(ReactiveRedisCallback.class))).willAnswer(invocation ->
+                Flux.from(invocation.<ReactiveRedisCallback<?>>getArgument(0).doInRedis(connection)));
+
+        // when
+        ((Flux<?>) underTest.cacheable(joinPoint)).subscribe();
+
+        // then
+        BDDMockito.verify(stringCommands, BDDMockito.times(3)).set(BDDMockito.<Publisher<SetCommand>>any());
+        BDDMockito.verify(setCommands, BDDMockito.times(2)).sAdd(BDDMockito.<Publisher<SAddCommand>>any());
+    }
+
+    @Test
+    public void shouldServeSubsequentReadsFromLocalCache() throws Throwable {
+        // given
+        Item item = Item.builder().id(ITEM_ID).build();
+        BDDMockito.given(valueOperations.get(REDIS_KEY)).willReturn(Mono.empty());
+        BDDMockito.given(redisTemplate.getSerializationContext()).willReturn(SERIALIZATION_CONTEXT);
+        BDDMockito.given(redisTemplate.execute(BDDMockito.any(ReactiveRedisCallback.class))).willReturn(Flux.empty());
+        BDDMockito.given(joinPoint.proceed()).willReturn(Mono.just(item));
+
+        // when
+        ((Mono<?>) underTest.cacheable(joinPoint)).block();
+        @SuppressWarnings("unchecked")
+        Mono<Object> cached = (Mono<Object>) underTest.cacheable(joinPoint);
+
+        // then
+        StepVerifier.create(cached).expectNext(item).verifyComplete();
+        BDDMockito.verify(joinPoint, BDDMockito.times(1)).proceed();
+        BDDMockito.verify(valueOperations, BDDMockito.times(1)).get(REDIS_KEY);
+    }
+
+    @Test
+    public void updateShouldEvictOnlyPagesTaggedWithEntityId() throws Throwable {
+        // given
+        String positionId = "1";
+        Position updated = Position.builder().id(positionId).build();
+        BDDMockito.given(signature.getMethod())
+                .willReturn(PositionDao.class.getMethod("update", String.class, Position.class));
+        BDDMockito.given(joinPoint.getArgs()).willReturn(new Object[]{positionId, updated});
+        BDDMockito.given(joinPoint.proceed()).willReturn(Mono.just(updated));
+        BDDMockito.given(redisTemplate.opsForSet()).willReturn(setOperations);
+        BDDMockito.given(setOperations.members("tag::positions::1")).willReturn(Flux.just("positions::0"));
+        List<List<String>> deletedKeys = new ArrayList<>();
+        BDDMockito.given(redisTemplate.delete(BDDMockito.<Publisher<String>>any())).willAnswer(invocation -> {
+            Publisher<String> keys = invocation.getArgument(0);
+            return Flux.from(keys).collectList().doOnNext(deletedKeys::add).map(keysList -> (long) keysList.size());
+        });
+        BDDMockito.given(redisTemplate.convertAndSend(BDDMockito.anyString(), BDDMockito.any())).willReturn(Mono.just(1L));
+
+        // when
+        Mono<?> result = (Mono<?>) underTest.cacheEvict(joinPoint);
+
+        // then
+        StepVerifier.create(result).expectNextCount(1).verifyComplete();
+        Assertions.assertThat(deletedKeys).containsExactlyInAnyOrder(
+                List.of("positions::0", "tag::positions::1"),
+                List.of("position::1"));
+    }
+
+    @Test
+    public void categoryDeletionShouldEvictAllEntriesOfCachesHoldingCategoryCopies() throws Throwable {
+        // given
+        BDDMockito.given(signature.getMethod())
+                .willReturn(CategoryServiceImpl.class.getMethod("deleteCategory", String.class));
+        BDDMockito.given(joinPoint.proceed()).willReturn(Mono.just(DeleteResult.acknowledged(1L)));
+        BDDMockito.given(redisTemplate.scan(BDDMockito.any(ScanOptions.class))).willAnswer(invocation -> {
+            String pattern = invocation.<ScanOptions>getArgument(0).getPattern();
+            return Flux.just(pattern.replace("*", "0"));
+        });
+        List<List<String>> deletedKeys = new ArrayList<>();
+        BDDMockito.given(redisTemplate.delete(BDDMockito.<Publisher<String>>any())).willAnswer(invocation -> {
+            Publisher<String> keys = invocation.getArgument(0);
+            return Flux.from(keys).collectList().doOnNext(deletedKeys::add).map(keysList -> (long) keysList.size());
+        });
+        BDDMockito.given(redisTemplate.convertAndSend(BDDMockito.anyString(), BDDMockito.any())).willReturn(Mono.just(1L));
+
+        // when
+        Mono<?> result = (Mono<?>) underTest.cacheEvict(joinPoint);
+
+        // then
+        StepVerifier.create(result).expectNextCount(1).verifyComplete();
+        Assertions.assertThat(deletedKeys).containsExactlyInAnyOrder(
+                List.of("category::0", "tag::category::0"),
+                List.of("categories::0", "tag::categories::0"),
+                List.of("item::0", "tag::item::0"),
+                List.of("items::0", "tag::items::0"),
+                List.of("position::0", "tag::position::0"),
+                List.of("positions::0", "tag::positions::0"));
+    }
+}
@@ -0,0 +1,88 @@
+package com.modsensoftware.marketplace.unit.cache;
+
+import com.modsensoftware.marketplace.config.cache.NearCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * @author andrey.demyanchik on 1/30/2023
+ */
+@ExtendWith(MockitoExtension.class)
+public class NearCacheTest {
+
+    @Mock
+    private ReactiveRedisTemplate<String, Object> redisTemplate;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private NearCache underTest;
+
+    private static final String CACHE_NAME = "position";
+    private static final String CHANNEL = "cacheEvictionsTest";
+
+    @BeforeEach
+    void setUp() {
+        underTest = new NearCache(redisTemplate, meterRegistry, 10, 60, CHANNEL);
+        underTest.register(CACHE_NAME, 60);
+    }
+
+    @Test
+    public void shouldReturnCachedValueAndRecordHitsAndMisses() {
+        // given
+        String key = CACHE_NAME + "::1";
+        underTest.put(CACHE_NAME, key, "value");
+
+        // when
+        Object hit = underTest.get(CACHE_NAME, key);
+        Object miss = underTest.get(CACHE_NAME, CACHE_NAME + "::2");
+
+        // then
+        Assertions.assertThat(hit).isEqualTo("value");
+        Assertions.assertThat(miss).isNull();
+        Assertions.assertThat(meterRegistry.get("cache.gets").tag("cache", CACHE_NAME)
+                .tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        Assertions.assertThat(meterRegistry.get("cache.gets").tag("cache", CACHE_NAME)
+                .tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldEvictLocallyAndPublishEviction() {
+        // given
+        String key = CACHE_NAME + "::1";
+        underTest.put(CACHE_NAME, key, "value");
+        BDDMockito.given(redisTemplate.convertAndSend(CHANNEL, key)).willReturn(Mono.just(1L));
+
+        // when
+        underTest.evict(CACHE_NAME, "1");
+
+        // then
+        Assertions.assertThat(underTest.get(CACHE_NAME, key)).isNull();
+        BDDMockito.verify(redisTemplate).convertAndSend(CHANNEL, key);
+    }
+
+    @Test
+    public void shouldEvictAllEntriesIfNoKeyProvided() {
+        // given
+        underTest.put(CACHE_NAME, CACHE_NAME + "::1", "value");
+        underTest.put(CACHE_NAME, CACHE_NAME + "::2", List.of("value"));
+        BDDMockito.given(redisTemplate.convertAndSend(CHANNEL, CACHE_NAME)).willReturn(Mono.just(1L));
+
+        // when
+        underTest.evict(CACHE_NAME, null);
+
+        // then
+        Assertions.assertThat(underTest.get(CACHE_NAME, CACHE_NAME + "::1")).isNull();
+        Assertions.assertThat(underTest.get(CACHE_NAME, CACHE_NAME + "::2")).isNull();
+    }
+}
@@ -1,6 +1,7 @@
 package com.modsensoftware.marketplace.unit.category;
 
 import com.modsensoftware.marketplace.dao.CategoryDao;
+import com.modsensoftware.marketplace.dao.SnapshotRefresher;
 import com.modsensoftware.marketplace.domain.Category;
 import com.modsensoftware.marketplace.exception.EntityNotFoundException;
 import com.modsensoftware.marketplace.unit.AbstractDaoTest;
@@ -31,7 +32,7 @@ public class CategoryDaoTest extends AbstractDaoTest {
 
     @BeforeEach
     void setUp() {
-        underTest = new CategoryDao(mongoTemplate);
+        underTest = new CategoryDao(mongoTemplate, new SnapshotRefresher(mongoTemplate));
         ReflectionTestUtils.setField(underTest, "pageSize", pageSize);
         ReflectionTestUtils.setField(underTest, "categoryNotFoundMessage", categoryNotFoundMessage);
     }
@@ -40,7 +41,7 @@ public class CategoryDaoTest extends AbstractDaoTest {
     public void canSaveCategory() {
         // given
         String categoryName = "root";
-        Category category = new Category(null, categoryName, "Root category", null);
+        Category category = new Category(null, categoryName, "Root category", null, null);
 
         // when
         underTest.save(category).block();
@@ -57,7 +58,7 @@ public class CategoryDaoTest extends AbstractDaoTest {
     @Test
     public void canDeleteCategory() {
         // given
-        Category category = new Category(null, "root", "Root category", null);
+        Category category = new Category(null, "root", "Root category", null, null);
         underTest.save(category).block();
         // when
         underTest.deleteById(category.getId()).block();
@@ -71,8 +72,8 @@ public class CategoryDaoTest extends AbstractDaoTest {
     @Test
     public void canGetAll() {
         // given
-        Category category1 = new Category(null, "root", "Root category", null);
-        Category category2 = new Category(null, "category", "Category with parent", category1);
+        Category category1 = new Category(null, "root", "Root category", null, null);
+        Category category2 = new Category(null, "category", "Category with parent", category1, null);
         underTest.save(category1).block();
         underTest.save(category2).block();
 
@@ -95,7 +96,7 @@ public class CategoryDaoTest extends AbstractDaoTest {
         List<Category> categories = new ArrayList<>();
         Category testCategory;
         for (int i = 0; i < pageSize + 1; i++) {
-            testCategory = new Category(null, "category" + i, "", null);
+            testCategory = new Category(null, "category" + i, "", null, null);
             categories.add(testCategory);
             underTest.save(testCategory).block();
         }
@@ -124,10 +125,35 @@ public class CategoryDaoTest extends AbstractDaoTest {
         });
     }
 
+    @Test
+    public void canGetSubtree() {
+        // given
+        Category root = new Category(null, "root", "Root category", null, new ArrayList<>());
+        underTest.save(root).block();
+        Category child = new Category(null, "child", "", root, root.childAncestors());
+        underTest.save(child).block();
+        Category grandchild = new Category(null, "grandchild", "", child, child.childAncestors());
+        underTest.save(grandchild).block();
+        Category unrelated = new Category(null, "unrelated", "", null, new ArrayList<>());
+        underTest.save(unrelated).block();
+
+        // when
+        // then
+        underTest.getSubtree(child.getId())
+                .map(Category::getId)
+                .collectList()
+                .as(StepVerifier::create)
+                .expectNextMatches(ids -> ids.size() == 2 && ids.containsAll(List.of(child.getId(), grandchild.getId())))
+                .verifyComplete();
+
+        // clean up
+        List.of(root, child, grandchild, unrelated).forEach(category -> underTest.deleteById(category.getId()).block());
+    }
+
     @Test
     public void canGetById() {
         // given
-        Category category = new Category(null, "root", "Root category", null);
+        Category category = new Category(null, "root", "Root category", null, null);
         underTest.save(category).block();
         // when
         //then
@@ -156,22 +182,22 @@ public class CategoryDaoTest extends AbstractDaoTest {
     @Test
     public void canUpdateCategory() {
         // given
-        Category parent1 = new Category(null, "parent1", "description1", null);
-        Category parent2 = new Category(null, "parent2", "description2", null);
-        Category category = new Category(null, "category", "description", parent1);
+        Category parent1 = new Category(null, "parent1", "description1", null, null);
+        Category parent2 = new Category(null, "parent2", "description2", null, null);
+        Category category = new Category(null, "category", "description", parent1, null);
         underTest.save(parent1).block();
         underTest.save(parent2).block();
         underTest.save(category).block();
 
         Category updatedFields = new Category(null, "updCategory", "updDescr",
-                Category.builder().id(parent2.getId()).build());
+                Category.builder().id(parent2.getId()).build(), null);
 
         // when
         underTest.update(category.getId(), updatedFields).block();
 
         // then
         Category expected = new Category(category.getId(), updatedFields.getName(),
-                updatedFields.getDescription(), parent2);
+                updatedFields.getDescription(), parent2, null);
         underTest.get(category.getId())
                 .as(StepVerifier::create)
                 .expectNext(expected)
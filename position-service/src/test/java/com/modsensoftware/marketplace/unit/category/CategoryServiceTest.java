@@ -0,0 +1,150 @@
+package com.modsensoftware.marketplace.unit.category;
+
+import com.modsensoftware.marketplace.dao.CategoryDao;
+import com.modsensoftware.marketplace.domain.Category;
+import com.modsensoftware.marketplace.dto.CategoryDto;
+import com.modsensoftware.marketplace.dto.mapper.CategoryMapperImpl;
+import com.modsensoftware.marketplace.dto.response.CategoryTreeResponse;
+import com.modsensoftware.marketplace.exception.InvalidCategoryParentException;
+import com.modsensoftware.marketplace.service.impl.CategoryServiceImpl;
+import com.mongodb.client.result.DeleteResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+/**
+ * @author andrey.demyanchik on 1/30/2023
+ */
+@ExtendWith(MockitoExtension.class)
+public class CategoryServiceTest {
+
+    @Mock
+    private CategoryDao categoryDao;
+
+    private CategoryServiceImpl underTest;
+
+    private static final String CATEGORY_PARENT_IS_DESCENDANT_MESSAGE
+            = "Category with id=%s can not be moved under its descendant with id=%s";
+
+    @BeforeEach
+    void setUp() {
+        underTest = new CategoryServiceImpl(categoryDao, new CategoryMapperImpl());
+        ReflectionTestUtils.setField(underTest, "categoryParentIsDescendantMessage", CATEGORY_PARENT_IS_DESCENDANT_MESSAGE);
+    }
+
+    @Test
+    public void shouldMaterializeAncestorsOnCreate() {
+        // given
+        Category parent = Category.builder().id("parent").ancestors(List.of("root")).build();
+        BDDMockito.given(categoryDao.get(parent.getId())).willReturn(Mono.just(parent));
+        BDDMockito.given(categoryDao.save(BDDMockito.any(Category.class)))
+                .willAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // when
+        Mono<Category> created = underTest.createCategory(new CategoryDto("name", "description", parent.getId(), null));
+
+        // then
+        created.as(StepVerifier::create)
+                .expectNextMatches(category -> category.getAncestors().equals(List.of("root", "parent")))
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldRebaseDescendantsWhenCategoryIsMoved() {
+        // given
+        Category newParent = Category.builder().id("newParent").ancestors(List.of()).build();
+        Category moved = Category.builder().id("moved").parent(newParent).ancestors(List.of("oldParent")).build();
+        Category grandchild = Category.builder().id("grandchild").ancestors(List.of("oldParent", "moved", "child")).build();
+        BDDMockito.given(categoryDao.get(newParent.getId())).willReturn(Mono.just(newParent));
+        BDDMockito.given(categoryDao.update(BDDMockito.eq(moved.getId()), BDDMockito.any(Category.class)))
+                .willReturn(Mono.just(moved));
+        BDDMockito.given(categoryDao.updateAncestors(moved.getId(), List.of("newParent")))
+                .willReturn(Mono.just(Category.builder().id("moved").ancestors(List.of("newParent")).build()));
+        BDDMockito.given(categoryDao.getDescendants(moved.getId())).willReturn(Flux.just(grandchild));
+        BDDMockito.given(categoryDao.updateAncestors(grandchild.getId(), List.of("newParent", "moved", "child")))
+                .willReturn(Mono.just(grandchild));
+
+        // when
+        Mono<Category> updated = underTest.updateCategory(moved.getId(), new CategoryDto(null, null, newParent.getId(), null));
+
+        // then
+        updated.as(StepVerifier::create)
+                .expectNextMatches(category -> category.getAncestors().equals(List.of("newParent")))
+                .verifyComplete();
+        BDDMockito.verify(categoryDao).updateAncestors(grandchild.getId(), List.of("newParent", "moved", "child"));
+    }
+
+    @Test
+    public void shouldRemoveCategoryOnlyAfterItsDescendantsAreRebased() {
+        // given
+        Category parent = Category.builder().id("parent").ancestors(List.of()).build();
+        Category deleted = Category.builder().id("deleted").parent(parent).ancestors(List.of("parent")).build();
+        Category child = Category.builder().id("child").parent(deleted).ancestors(List.of("parent", "deleted")).build();
+        BDDMockito.given(categoryDao.get(deleted.getId())).willReturn(Mono.just(deleted));
+        BDDMockito.given(categoryDao.getDescendants(deleted.getId())).willReturn(Flux.just(child));
+        BDDMockito.given(categoryDao.update(BDDMockito.eq(child.getId()), BDDMockito.any(Category.class)))
+                .willReturn(Mono.just(child));
+        BDDMockito.given(categoryDao.updateAncestors(child.getId(), List.of("parent")))
+                .willReturn(Mono.just(child));
+        BDDMockito.given(categoryDao.deleteById(deleted.getId())).willReturn(Mono.just(DeleteResult.acknowledged(1L)));
+
+        // when
+        Mono<DeleteResult> deleteResult = underTest.deleteCategory(deleted.getId());
+
+        // then
+        deleteResult.as(StepVerifier::create)
+                .expectNextCount(1)
+                .verifyComplete();
+        InOrder inOrder = BDDMockito.inOrder(categoryDao);
+        inOrder.verify(categoryDao).updateAncestors(child.getId(), List.of("parent"));
+        inOrder.verify(categoryDao).deleteById(deleted.getId());
+    }
+
+    @Test
+    public void shouldNotMoveCategoryUnderItsDescendant() {
+        // given
+        String id = "category";
+        Category descendant = Category.builder().id("descendant").ancestors(List.of("root", id)).build();
+        BDDMockito.given(categoryDao.get(descendant.getId())).willReturn(Mono.just(descendant));
+
+        // when
+        Mono<Category> updated = underTest.updateCategory(id, new CategoryDto(null, null, descendant.getId(), null));
+
+        // then
+        updated.as(StepVerifier::create)
+                .expectError(InvalidCategoryParentException.class)
+                .verify();
+        BDDMockito.verify(categoryDao, BDDMockito.never()).update(BDDMockito.anyString(), BDDMockito.any(Category.class));
+    }
+
+    @Test
+    public void canGetCategoryTreeWithSingleQuery() {
+        // given
+        Category root = Category.builder().id("root").name("root").ancestors(List.of()).build();
+        Category child = Category.builder().id("child").name("child").ancestors(List.of("root")).build();
+        Category grandchild = Category.builder().id("grandchild").name("grandchild").ancestors(List.of("root", "child")).build();
+        BDDMockito.given(categoryDao.getSubtree(root.getId())).willReturn(Flux.just(grandchild, root, child));
+
+        // when
+        Mono<CategoryTreeResponse> tree = underTest.getCategoryTree(root.getId());
+
+        // then
+        CategoryTreeResponse expectedGrandchild = CategoryTreeResponse.builder().id("grandchild").name("grandchild").build();
+        CategoryTreeResponse expectedChild = CategoryTreeResponse.builder().id("child").name("child")
+                .children(List.of(expectedGrandchild)).build();
+        tree.as(StepVerifier::create)
+                .expectNext(CategoryTreeResponse.builder().id("root").name("root").children(List.of(expectedChild)).build())
+                .verifyComplete();
+        BDDMockito.verify(categoryDao).getSubtree(root.getId());
+    }
+}
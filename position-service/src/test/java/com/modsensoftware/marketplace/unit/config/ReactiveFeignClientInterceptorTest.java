@@ -0,0 +1,188 @@
+package com.modsensoftware.marketplace.unit.config;
+
+import com.modsensoftware.marketplace.config.ReactiveFeignClientInterceptor;
+import com.modsensoftware.marketplace.service.impl.UserClient;
+import feign.MethodMetadata;
+import feign.Target;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactivefeign.client.ReactiveHttpRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * @author andrey.demyanchik on 1/30/2023
+ */
+@ExtendWith(MockitoExtension.class)
+public class ReactiveFeignClientInterceptorTest {
+
+    @Mock
+    private ExchangeFunction tokenEndpoint;
+
+    private VirtualTimeScheduler virtualTime;
+
+    private ReactiveFeignClientInterceptor underTest;
+
+    private static final long TOKEN_EXPIRY_SKEW_SECONDS = 30;
+    private static final long EXPIRES_IN_SECONDS = 300;
+    private static final String FIRST_TOKEN = "first";
+    private static final String SECOND_TOKEN = "second";
+    private static final MethodMetadata USER_CLIENT_METHOD = new SpringMvcContract()
+            .parseAndValidateMetadata(UserClient.class).get(0);
+    private static final Target<UserClient> USER_CLIENT_TARGET = new Target.HardCodedTarget<>(
+            UserClient.class, "http://user-service/users");
+
+    @BeforeEach
+    void setUp() {
+        // the token cache and the refresh are timed by the parallel scheduler,
+        // so virtual time has to be set before the interceptor is created
+        virtualTime = VirtualTimeScheduler.getOrSet();
+        underTest = new ReactiveFeignClientInterceptor(WebClient.builder().exchangeFunction(tokenEndpoint));
+        ReflectionTestUtils.setField(underTest, "providerUri", "http://localhost/token");
+        ReflectionTestUtils.setField(underTest, "clientId", "position-service");
+        ReflectionTestUtils.setField(underTest, "clientSecret", "secret");
+        ReflectionTestUtils.setField(underTest, "authorizationGrantType", "client_credentials");
+        ReflectionTestUtils.setField(underTest, "tokenExpirySkewSeconds", TOKEN_EXPIRY_SKEW_SECONDS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.cancelScheduledRefresh();
+        VirtualTimeScheduler.reset();
+    }
+
+    @Test
+    public void concurrentRequestsShouldWaitForSingleTokenRequest() {
+        // given
+        int requests = 10;
+        BDDMockito.given(tokenEndpoint.exchange(ArgumentMatchers.any()))
+                .willReturn(tokenResponse(FIRST_TOKEN, EXPIRES_IN_SECONDS).delaySubscription(Duration.ofSeconds(1)));
+
+        // when
+        Flux<ReactiveHttpRequest> authorizedRequests = Flux.range(0, requests)
+                .flatMap(i -> underTest.apply(request()));
+
+        // then
+        StepVerifier.create(authorizedRequests)
+                .then(() -> virtualTime.advanceTimeBy(Duration.ofSeconds(1)))
+                .expectNextCount(requests)
+                .verifyComplete();
+        BDDMockito.verify(tokenEndpoint).exchange(ArgumentMatchers.any());
+    }
+
+    @Test
+    public void tokenShouldBeReusedWithinItsTtl() {
+        // given
+        BDDMockito.given(tokenEndpoint.exchange(ArgumentMatchers.any()))
+                .willReturn(tokenResponse(FIRST_TOKEN, EXPIRES_IN_SECONDS));
+
+        // when
+        StepVerifier.create(underTest.apply(request()))
+                .expectNextMatches(request -> hasToken(request, FIRST_TOKEN))
+                .verifyComplete();
+        virtualTime.advanceTimeBy(Duration.ofSeconds(EXPIRES_IN_SECONDS - 2 * TOKEN_EXPIRY_SKEW_SECONDS - 1));
+
+        // then
+        StepVerifier.create(underTest.apply(request()))
+                .expectNextMatches(request -> hasToken(request, FIRST_TOKEN))
+                .verifyComplete();
+        BDDMockito.verify(tokenEndpoint).exchange(ArgumentMatchers.any());
+    }
+
+    @Test
+    public void shortLivedTokenShouldBeCached() {
+        // given
+        long expiresIn = TOKEN_EXPIRY_SKEW_SECONDS / 2;
+        BDDMockito.given(tokenEndpoint.exchange(ArgumentMatchers.any()))
+                .willReturn(tokenResponse(FIRST_TOKEN, expiresIn));
+
+        // when
+        StepVerifier.create(underTest.apply(request()))
+                .expectNextMatches(request -> hasToken(request, FIRST_TOKEN))
+                .verifyComplete();
+
+        // then
+        StepVerifier.create(underTest.apply(request()))
+                .expectNextMatches(request -> hasToken(request, FIRST_TOKEN))
+                .verifyComplete();
+        BDDMockito.verify(tokenEndpoint).exchange(ArgumentMatchers.any());
+    }
+
+    @Test
+    public void backgroundRefreshShouldSwapInNewToken() {
+        // given
+        BDDMockito.given(tokenEndpoint.exchange(ArgumentMatchers.any()))
+                .willReturn(tokenResponse(FIRST_TOKEN, EXPIRES_IN_SECONDS), tokenResponse(SECOND_TOKEN, EXPIRES_IN_SECONDS));
+        StepVerifier.create(underTest.apply(request()))
+                .expectNextMatches(request -> hasToken(request, FIRST_TOKEN))
+                .verifyComplete();
+
+        // when
+        virtualTime.advanceTimeBy(Duration.ofSeconds(EXPIRES_IN_SECONDS - 2 * TOKEN_EXPIRY_SKEW_SECONDS));
+
+        // then
+        StepVerifier.create(underTest.apply(request()))
+                .expectNextMatches(request -> hasToken(request, SECOND_TOKEN))
+                .verifyComplete();
+        BDDMockito.verify(tokenEndpoint, BDDMockito.times(2)).exchange(ArgumentMatchers.any());
+    }
+
+    @Test
+    public void failedTokenRequestShouldNotBeCached() {
+        // given
+        BDDMockito.given(tokenEndpoint.exchange(ArgumentMatchers.any()))
+                .willReturn(Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()),
+                        tokenResponse(FIRST_TOKEN, EXPIRES_IN_SECONDS));
+        StepVerifier.create(underTest.apply(request()))
+                .expectError()
+                .verify();
+
+        // when
+        Mono<ReactiveHttpRequest> retried = underTest.apply(request());
+
+        // then
+        StepVerifier.create(retried)
+                .expectNextMatches(request -> hasToken(request, FIRST_TOKEN))
+                .verifyComplete();
+        BDDMockito.verify(tokenEndpoint, BDDMockito.times(2)).exchange(ArgumentMatchers.any());
+    }
+
+    private static Mono<ClientResponse> tokenResponse(String token, long expiresIn) {
+        return Mono.fromSupplier(() -> ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(format("{\"access_token\":\"%s\",\"expires_in\":%d,\"token_type\":\"Bearer\"}", token, expiresIn))
+                .build());
+    }
+
+    private static ReactiveHttpRequest request() {
+        return new ReactiveHttpRequest(USER_CLIENT_METHOD, USER_CLIENT_TARGET,
+                URI.create(USER_CLIENT_TARGET.url()), new HashMap<>(), Mono.empty());
+    }
+
+    private static boolean hasToken(ReactiveHttpRequest request, String token) {
+        return request.headers().get(HttpHeaders.AUTHORIZATION).equals(List.of("Bearer " + token));
+    }
+}
@@ -2,8 +2,10 @@ package com.modsensoftware.marketplace.unit.item;
 
 import com.modsensoftware.marketplace.dao.CategoryDao;
 import com.modsensoftware.marketplace.dao.ItemDao;
+import com.modsensoftware.marketplace.dao.SnapshotRefresher;
 import com.modsensoftware.marketplace.domain.Category;
 import com.modsensoftware.marketplace.domain.Item;
+import com.modsensoftware.marketplace.domain.Position;
 import com.modsensoftware.marketplace.exception.EntityNotFoundException;
 import com.modsensoftware.marketplace.unit.AbstractDaoTest;
 import org.junit.jupiter.api.BeforeEach;
@@ -29,6 +31,7 @@ public class ItemDaoTest extends AbstractDaoTest {
 
     private ItemDao underTest;
     private CategoryDao categoryDao;
+    private SnapshotRefresher snapshotRefresher;
 
     @Value("${default.page.size}")
     private int pageSize;
@@ -37,8 +40,10 @@ public class ItemDaoTest extends AbstractDaoTest {
 
     @BeforeEach
     void setUp() {
-        categoryDao = new CategoryDao(mongoTemplate);
-        underTest = new ItemDao(mongoTemplate, categoryDao);
+        snapshotRefresher = new SnapshotRefresher(mongoTemplate);
+        ReflectionTestUtils.setField(snapshotRefresher, "itemReferenceStorageEnabled", true);
+        categoryDao = new CategoryDao(mongoTemplate, snapshotRefresher);
+        underTest = new ItemDao(mongoTemplate, categoryDao, snapshotRefresher);
         ReflectionTestUtils.setField(underTest, "pageSize", pageSize);
         ReflectionTestUtils.setField(underTest, "itemNotFoundMessage", itemNotFoundMessage);
     }
@@ -46,7 +51,7 @@ public class ItemDaoTest extends AbstractDaoTest {
     @Test
     public void canSaveItem() {
         // given
-        Category category = new Category(null, "category", "description", null);
+        Category category = new Category(null, "category", "description", null, null);
         categoryDao.save(category).block();
         Item item = new Item(null, "name", "description", now().truncatedTo(SECONDS), category, 1L);
 
@@ -67,7 +72,7 @@ public class ItemDaoTest extends AbstractDaoTest {
     @Test
     public void canGetItemById() {
         // given
-        Category category = new Category(null, "category", "description", null);
+        Category category = new Category(null, "category", "description", null, null);
         categoryDao.save(category).block();
         Item item = new Item(null, "name", "description", now().truncatedTo(SECONDS), category, 1L);
         underTest.save(item).block();
@@ -101,7 +106,7 @@ public class ItemDaoTest extends AbstractDaoTest {
     public void canGetAllItemsWithPagination() {
         // given
         List<Item> items = new ArrayList<>();
-        Category category = new Category(null, "category", "description", null);
+        Category category = new Category(null, "category", "description", null, null);
         categoryDao.save(category);
         for (int i = 0; i < pageSize + 1; i++) {
             Item item = new Item(null, "name", "description", now(), category, 1L);
@@ -132,8 +137,8 @@ public class ItemDaoTest extends AbstractDaoTest {
     @Test
     public void canUpdateItem() {
         // given
-        Category category = new Category(null, "another category", "other description", null);
-        Category updCategory = new Category(null, "category", "description", null);
+        Category category = new Category(null, "another category", "other description", null, null);
+        Category updCategory = new Category(null, "category", "description", null, null);
         long itemVersion = 1L;
         Item item = new Item(null, "name", "description",
                 now().truncatedTo(SECONDS), category, itemVersion);
@@ -162,10 +167,81 @@ public class ItemDaoTest extends AbstractDaoTest {
         categoryDao.deleteById(updCategory.getId());
     }
 
+    @Test
+    public void shouldRefreshItemSnapshotsOfPositions() {
+        // given
+        Category category = new Category(null, "category", "description", null, null);
+        categoryDao.save(category).block();
+        Item item = new Item(null, "name", "description", now().truncatedTo(SECONDS), category, 1L);
+        underTest.save(item).block();
+        Position position = Position.builder().item(item.toSnapshot()).amount(1d).build();
+        mongoTemplate.insert(position).block();
+        item.setName("upd name");
+        category.setName("upd category");
+
+        // when
+        snapshotRefresher.refreshItem(item).block();
+        snapshotRefresher.refreshCategory(category).block();
+
+        // then
+        mongoTemplate.findById(position.getId(), Position.class)
+                .as(StepVerifier::create)
+                .expectNextMatches(refreshed -> refreshed.getItem().getName().equals("upd name")
+                        && refreshed.getItem().getCategory().getName().equals("upd category")
+                        && refreshed.getItem().getCategory().getDescription() == null)
+                .verifyComplete();
+        underTest.get(item.getId())
+                .as(StepVerifier::create)
+                .expectNextMatches(refreshed -> refreshed.getCategory().equals(category))
+                .verifyComplete();
+
+        // clean up
+        mongoTemplate.remove(position).block();
+        underTest.deleteById(item.getId()).block();
+        categoryDao.deleteById(category.getId()).block();
+    }
+
+    @Test
+    public void shouldRefreshParentChainsOfDescendantsAndTheirItems() {
+        // given
+        Category parent = new Category(null, "parent", "description", null, new ArrayList<>());
+        categoryDao.save(parent).block();
+        Category child = new Category(null, "child", "description", parent, parent.childAncestors());
+        categoryDao.save(child).block();
+        Category grandchild = new Category(null, "grandchild", "description", child, child.childAncestors());
+        categoryDao.save(grandchild).block();
+        Item item = new Item(null, "name", "description", now().truncatedTo(SECONDS), grandchild, 1L);
+        underTest.save(item).block();
+        parent.setName("upd parent");
+
+        // when
+        snapshotRefresher.refreshCategory(parent).block();
+
+        // then
+        categoryDao.get(child.getId())
+                .as(StepVerifier::create)
+                .expectNextMatches(refreshed -> refreshed.getParent().getName().equals("upd parent"))
+                .verifyComplete();
+        categoryDao.get(grandchild.getId())
+                .as(StepVerifier::create)
+                .expectNextMatches(refreshed -> refreshed.getParent().getParent().getName().equals("upd parent"))
+                .verifyComplete();
+        underTest.get(item.getId())
+                .as(StepVerifier::create)
+                .expectNextMatches(refreshed -> refreshed.getCategory().getParent().getParent().getName().equals("upd parent"))
+                .verifyComplete();
+
+        // clean up
+        underTest.deleteById(item.getId()).block();
+        categoryDao.deleteById(grandchild.getId()).block();
+        categoryDao.deleteById(child.getId()).block();
+        categoryDao.deleteById(parent.getId()).block();
+    }
+
     @Test
     public void canDeleteById() {
         // given
-        Category category = new Category(null, "category", "desc", null);
+        Category category = new Category(null, "category", "desc", null, null);
         categoryDao.save(category).block();
         Item item = new Item(null, "name", "description",
                 now().truncatedTo(SECONDS), category, 1L);
@@ -0,0 +1,221 @@
+package com.modsensoftware.marketplace.unit.position;
+
+import com.modsensoftware.marketplace.config.MongoIndexInitializer;
+import com.modsensoftware.marketplace.dao.PositionDao;
+import com.modsensoftware.marketplace.domain.Category;
+import com.modsensoftware.marketplace.domain.Item;
+import com.modsensoftware.marketplace.domain.Position;
+import com.modsensoftware.marketplace.exception.InvalidCursorException;
+import com.modsensoftware.marketplace.unit.AbstractDaoTest;
+import com.modsensoftware.marketplace.utils.PageCursor;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.test.StepVerifier;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author andrey.demyanchik on 1/30/2023
+ */
+public class PositionDaoTest extends AbstractDaoTest {
+
+    private PositionDao underTest;
+
+    @Value("${default.page.size}")
+    private int pageSize;
+    @Value("${exception.message.positionNotFound}")
+    private String positionNotFoundMessage;
+    @Value("${position.decrease.revert-retries}")
+    private int revertRetries;
+    @Value("${position.decrease.applied-transactions-limit}")
+    private int appliedTransactionsLimit;
+
+    private static final Long TRANSACTION_ID = 1L;
+
+    private Position first;
+    private Position second;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new PositionDao(mongoTemplate);
+        ReflectionTestUtils.setField(underTest, "pageSize", pageSize);
+        ReflectionTestUtils.setField(underTest, "positionNotFoundMessage", positionNotFoundMessage);
+        ReflectionTestUtils.setField(underTest, "revertRetries", revertRetries);
+        ReflectionTestUtils.setField(underTest, "appliedTransactionsLimit", appliedTransactionsLimit);
+        first = underTest.save(Position.builder().companyId(1L).amount(10d).minAmount(1d).build()).block();
+        second = underTest.save(Position.builder().companyId(1L).amount(5d).minAmount(1d).build()).block();
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.deleteById(first.getId()).block();
+        underTest.deleteById(second.getId()).block();
+    }
+
+    @Test
+    public void canDecreaseAmountsOfOrderLine() {
+        // given
+        Map<String, Double> amounts = new LinkedHashMap<>();
+        amounts.put(first.getId(), 10d);
+        amounts.put(second.getId(), 2d);
+
+        // when
+        underTest.decreaseAmounts(TRANSACTION_ID, amounts)
+                .as(StepVerifier::create)
+                .expectNext(true)
+                .verifyComplete();
+
+        // then
+        underTest.getAllByIds(amounts.keySet())
+                .as(StepVerifier::create)
+                .expectNextMatches(position -> position.getAmount().equals(0d))
+                .expectNextMatches(position -> position.getAmount().equals(3d))
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldNotDecreaseAnyAmountIfOneOfPositionsIsOutOfStock() {
+        // given
+        Map<String, Double> amounts = new LinkedHashMap<>();
+        amounts.put(first.getId(), 5d);
+        amounts.put(second.getId(), 6d);
+
+        // when
+        underTest.decreaseAmounts(TRANSACTION_ID, amounts)
+                .as(StepVerifier::create)
+                .expectNext(false)
+                .verifyComplete();
+
+        // then
+        underTest.getAllByIds(amounts.keySet())
+                .as(StepVerifier::create)
+                .expectNextMatches(position -> position.getAmount().equals(10d))
+                .expectNextMatches(position -> position.getAmount().equals(5d))
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldNotCreatePositionWhenDecreasingAmountOfAbsentOne() {
+        // given
+        String absentId = "absent";
+        Map<String, Double> amounts = new LinkedHashMap<>();
+        amounts.put(absentId, 1d);
+        amounts.put(first.getId(), 1d);
+
+        // when
+        underTest.decreaseAmounts(TRANSACTION_ID, amounts)
+                .as(StepVerifier::create)
+                .expectNext(false)
+                .verifyComplete();
+
+        // then
+        underTest.getAllByIds(amounts.keySet())
+                .as(StepVerifier::create)
+                .expectNextMatches(position -> position.getAmount().equals(10d))
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldNotDecreaseAmountsAgainForRedeliveredTransaction() {
+        // given
+        Map<String, Double> amounts = new LinkedHashMap<>();
+        amounts.put(first.getId(), 4d);
+        amounts.put(second.getId(), 2d);
+        underTest.decreaseAmounts(TRANSACTION_ID, amounts).block();
+
+        // when
+        underTest.decreaseAmounts(TRANSACTION_ID, amounts)
+                .as(StepVerifier::create)
+                .expectNext(true)
+                .verifyComplete();
+
+        // then
+        underTest.getAllByIds(amounts.keySet())
+                .as(StepVerifier::create)
+                .expectNextMatches(position -> position.getAmount().equals(6d))
+                .expectNextMatches(position -> position.getAmount().equals(3d))
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldRevertAmountsOfTransactionOnlyOnce() {
+        // given
+        Map<String, Double> amounts = Map.of(first.getId(), 4d);
+        underTest.decreaseAmounts(TRANSACTION_ID, amounts).block();
+
+        // when
+        underTest.revertAmounts(TRANSACTION_ID, amounts).block();
+        underTest.revertAmounts(TRANSACTION_ID, amounts).block();
+
+        // then
+        underTest.get(first.getId())
+                .as(StepVerifier::create)
+                .expectNextMatches(position -> position.getAmount().equals(10d))
+                .verifyComplete();
+    }
+
+    @Test
+    public void canGetPositionsAfterCursor() {
+        // given
+        String after = PageCursor.encode(first.getId());
+
+        // when
+        // then
+        underTest.getAll(after, Collections.emptyMap())
+                .as(StepVerifier::create)
+                .expectNextMatches(position -> position.getId().equals(second.getId()))
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldFailOnInvalidCursor() {
+        // when
+        // then
+        underTest.getAll("not a cursor", Collections.emptyMap())
+                .as(StepVerifier::create)
+                .expectError(InvalidCursorException.class)
+                .verify();
+    }
+
+    @Test
+    public void canSearchPositionsByRelevance() {
+        // given
+        mongoTemplate.indexOps(Position.class).ensureIndex(MongoIndexInitializer.positionsTextIndex()).block();
+        Category category = Category.builder().id(new ObjectId().toHexString()).name("Laptops").build();
+        Position describedOnly = underTest.save(Position.builder().companyId(1L).amount(3d).minAmount(1d)
+                .item(Item.builder().name("Bag").description("Fits any laptop").category(category).build())
+                .build()).block();
+        Position named = underTest.save(Position.builder().companyId(1L).amount(3d).minAmount(1d)
+                .item(Item.builder().name("Gaming laptop").description("").category(category).build())
+                .build()).block();
+        Position otherCompany = underTest.save(Position.builder().companyId(2L).amount(3d).minAmount(1d)
+                .item(Item.builder().name("Laptop").description("").category(category).build())
+                .build()).block();
+        Position tooFew = underTest.save(Position.builder().companyId(1L).amount(0.5d).minAmount(0.1d)
+                .item(Item.builder().name("Laptop").description("").category(category).build())
+                .build()).block();
+        Map<String, String> filterProperties = Map.of(
+                "categoryId", category.getId(),
+                "companyId", "1",
+                "minAmount", "1");
+
+        // when
+        // then
+        underTest.search("laptop", 0, filterProperties)
+                .as(StepVerifier::create)
+                .expectNextMatches(position -> position.getId().equals(named.getId()))
+                .expectNextMatches(position -> position.getId().equals(describedOnly.getId()))
+                .verifyComplete();
+
+        // clean up
+        List.of(describedOnly, named, otherCompany, tooFew)
+                .forEach(position -> underTest.deleteById(position.getId()).block());
+    }
+}
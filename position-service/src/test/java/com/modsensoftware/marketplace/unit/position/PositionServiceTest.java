@@ -15,6 +15,7 @@ import com.modsensoftware.marketplace.exception.NoVersionProvidedException;
 import com.modsensoftware.marketplace.exception.UnauthorizedOperationException;
 import com.modsensoftware.marketplace.service.impl.PositionServiceImpl;
 import com.modsensoftware.marketplace.service.impl.UserClient;
+import com.modsensoftware.marketplace.utils.PageCursor;
 import com.mongodb.client.result.DeleteResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -25,10 +26,15 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static java.lang.String.format;
@@ -90,6 +96,183 @@ public class PositionServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    public void shouldFetchEveryCreatorOnceWhenGettingPositionsByIds() {
+        // given
+        String userId = UUID.randomUUID().toString();
+        UserResponse user = UserResponse.builder()
+                .id(userId)
+                .company(Company.builder().id(1L).build())
+                .build();
+        Position first = Position.builder().id("1").createdBy(userId).build();
+        Position second = Position.builder().id("2").createdBy(userId).build();
+        List<String> ids = List.of("1", "2");
+        BDDMockito.given(positionDao.getAllByIds(ids)).willReturn(Flux.just(first, second));
+        BDDMockito.given(userClient.getUsersByIds(Set.of(userId))).willReturn(Flux.just(user));
+
+        // when
+        Flux<PositionResponse> positions = underTest.getPositionsByIds(ids);
+
+        // then
+        positions.as(StepVerifier::create)
+                .expectNext(POSITION_MAPPER.toResponseDto(first, user))
+                .expectNext(POSITION_MAPPER.toResponseDto(second, user))
+                .verifyComplete();
+        BDDMockito.verify(userClient).getUsersByIds(Set.of(userId));
+    }
+
+    @Test
+    public void shouldReturnPositionsWithoutCreatorsWhichAreNotFound() {
+        // given
+        String userId = UUID.randomUUID().toString();
+        Position position = Position.builder().id("1").companyId(1L).createdBy(userId).build();
+        List<String> ids = List.of("1");
+        BDDMockito.given(positionDao.getAllByIds(ids)).willReturn(Flux.just(position));
+        BDDMockito.given(userClient.getUsersByIds(Set.of(userId))).willReturn(Flux.empty());
+
+        // when
+        Flux<PositionResponse> positions = underTest.getPositionsByIds(ids);
+
+        // then
+        positions.as(StepVerifier::create)
+                .expectNextMatches(response -> response.getId().equals(position.getId())
+                        && response.getCreatedBy() == null
+                        && response.getCompany().getId().equals(position.getCompanyId()))
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldPropagateFailureToFetchCreators() {
+        // given
+        String userId = UUID.randomUUID().toString();
+        Position position = Position.builder().id("1").createdBy(userId).build();
+        List<String> ids = List.of("1");
+        BDDMockito.given(positionDao.getAllByIds(ids)).willReturn(Flux.just(position));
+        BDDMockito.given(userClient.getUsersByIds(Set.of(userId)))
+                .willReturn(Flux.error(new IllegalStateException("User service is not available")));
+
+        // when
+        Flux<PositionResponse> positions = underTest.getPositionsByIds(ids);
+
+        // then
+        positions.as(StepVerifier::create)
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+
+    @Test
+    public void shouldFetchCreatorsOfPageWithSingleRequest() {
+        // given
+        int pageNumber = 0;
+        String firstUserId = UUID.randomUUID().toString();
+        String secondUserId = UUID.randomUUID().toString();
+        UserResponse firstUser = UserResponse.builder()
+                .id(firstUserId)
+                .company(Company.builder().id(1L).build())
+                .build();
+        UserResponse secondUser = UserResponse.builder()
+                .id(secondUserId)
+                .company(Company.builder().id(2L).build())
+                .build();
+        Position first = Position.builder().id("1").createdBy(firstUserId).build();
+        Position second = Position.builder().id("2").createdBy(secondUserId).build();
+        Position third = Position.builder().id("3").createdBy(firstUserId).build();
+        BDDMockito.given(positionDao.getAll(pageNumber, Collections.emptyMap()))
+                .willReturn(Flux.just(first, second, third));
+        BDDMockito.given(userClient.getUsersByIds(Set.of(firstUserId, secondUserId)))
+                .willReturn(Flux.just(secondUser, firstUser));
+
+        // when
+        Flux<PositionResponse> positions = underTest.getAllPositions(pageNumber);
+
+        // then
+        positions.as(StepVerifier::create)
+                .expectNext(POSITION_MAPPER.toResponseDto(first, firstUser))
+                .expectNext(POSITION_MAPPER.toResponseDto(second, secondUser))
+                .expectNext(POSITION_MAPPER.toResponseDto(third, firstUser))
+                .verifyComplete();
+        BDDMockito.verify(userClient).getUsersByIds(Set.of(firstUserId, secondUserId));
+        BDDMockito.verify(userClient, BDDMockito.never()).getUserById(BDDMockito.anyString());
+    }
+
+    @Test
+    public void shouldResolveItemReferencesOfPageWithSingleQuery() {
+        // given
+        ReflectionTestUtils.setField(underTest, "itemReferenceStorageEnabled", true);
+        int pageNumber = 0;
+        String userId = UUID.randomUUID().toString();
+        UserResponse user = UserResponse.builder()
+                .id(userId)
+                .company(Company.builder().id(1L).build())
+                .build();
+        Item item = Item.builder().id("item").name("name").description("description").version(1L).build();
+        Item removedItem = Item.builder().id("removed").name("removed").build();
+        Position first = Position.builder().id("1").item(item.toSnapshot()).createdBy(userId).build();
+        Position second = Position.builder().id("2").item(item.toSnapshot()).createdBy(userId).build();
+        Position third = Position.builder().id("3").item(removedItem.toSnapshot()).createdBy(userId).build();
+        BDDMockito.given(positionDao.getAll(pageNumber, Collections.emptyMap()))
+                .willReturn(Flux.just(first, second, third));
+        BDDMockito.given(itemDao.getAllByIds(Set.of(item.getId(), removedItem.getId()))).willReturn(Flux.just(item));
+        BDDMockito.given(userClient.getUsersByIds(Set.of(userId))).willReturn(Flux.just(user));
+
+        // when
+        Flux<PositionResponse> positions = underTest.getAllPositions(pageNumber);
+
+        // then
+        positions.as(StepVerifier::create)
+                .expectNextMatches(position -> position.getItem() == item)
+                .expectNextMatches(position -> position.getItem() == item)
+                .expectNextMatches(position -> position.getItem().equals(removedItem.toSnapshot()))
+                .verifyComplete();
+        BDDMockito.verify(itemDao).getAllByIds(Set.of(item.getId(), removedItem.getId()));
+        BDDMockito.verify(itemDao, BDDMockito.never()).get(BDDMockito.anyString());
+    }
+
+    @Test
+    public void canGetPositionsAfterCursor() {
+        // given
+        String after = PageCursor.encode("1");
+        String userId = UUID.randomUUID().toString();
+        UserResponse user = UserResponse.builder()
+                .id(userId)
+                .company(Company.builder().id(1L).build())
+                .build();
+        Position second = Position.builder().id("2").createdBy(userId).build();
+        BDDMockito.given(positionDao.getAll(after, Collections.emptyMap())).willReturn(Flux.just(second));
+        BDDMockito.given(userClient.getUsersByIds(Set.of(userId))).willReturn(Flux.just(user));
+
+        // when
+        Flux<PositionResponse> positions = underTest.getAllPositions(after);
+
+        // then
+        positions.as(StepVerifier::create)
+                .expectNext(POSITION_MAPPER.toResponseDto(second, user))
+                .verifyComplete();
+        BDDMockito.verify(positionDao, BDDMockito.never()).getAll(BDDMockito.anyInt(), BDDMockito.anyMap());
+    }
+
+    @Test
+    public void canSearchPositionsWithFilters() {
+        // given
+        String userId = UUID.randomUUID().toString();
+        UserResponse user = UserResponse.builder()
+                .id(userId)
+                .company(Company.builder().id(1L).build())
+                .build();
+        Position found = Position.builder().id("1").createdBy(userId).build();
+        Map<String, String> filterProperties = Map.of("companyId", "1", "minAmount", "2.0");
+        BDDMockito.given(positionDao.search("laptop", 0, filterProperties)).willReturn(Flux.just(found));
+        BDDMockito.given(userClient.getUsersByIds(Set.of(userId))).willReturn(Flux.just(user));
+
+        // when
+        Flux<PositionResponse> positions = underTest.searchPositions("laptop", 0, null, 1L, 2d, null);
+
+        // then
+        positions.as(StepVerifier::create)
+                .expectNext(POSITION_MAPPER.toResponseDto(found, user))
+                .verifyComplete();
+    }
+
     @Test
     public void canUpdatePosition() {
         // given
@@ -0,0 +1,205 @@
+package com.modsensoftware.marketplace.unit.transactionProcessor;
+
+import com.modsensoftware.marketplace.dao.PositionDao;
+import com.modsensoftware.marketplace.domain.Position;
+import com.modsensoftware.marketplace.dto.OrderRequest;
+import com.modsensoftware.marketplace.dto.PlacedUserTransaction;
+import com.modsensoftware.marketplace.dto.UserTransactionStatus;
+import com.modsensoftware.marketplace.service.TransactionStatusKafkaProducer;
+import com.modsensoftware.marketplace.service.impl.TransactionProcessingKafkaConsumerImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.reactive.ReactiveKafkaConsumerTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.modsensoftware.marketplace.dto.UserTransactionStatus.IN_PROGRESS;
+
+/**
+ * @author andrey.demyanchik on 1/30/2023
+ */
+@ExtendWith(MockitoExtension.class)
+public class TransactionProcessingKafkaConsumerTest {
+
+    @Mock
+    private PositionDao positionDao;
+    @Mock
+    private TransactionStatusKafkaProducer producer;
+    @Mock
+    private ReactiveKafkaConsumerTemplate<String, PlacedUserTransaction> kafkaConsumerTemplate;
+
+    private TransactionProcessingKafkaConsumerImpl underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new TransactionProcessingKafkaConsumerImpl(positionDao, producer, kafkaConsumerTemplate);
+        ReflectionTestUtils.setField(underTest, "retries", 1);
+    }
+
+    @Test
+    public void shouldFetchOrderLinePositionsInOneQueryAndAcceptTransaction() {
+        // given
+        String positionId = "1";
+        Position position = Position.builder().id(positionId).amount(100d).minAmount(1d).build();
+        List<OrderRequest> orders = List.of(
+                new OrderRequest(positionId, new BigDecimal("10")),
+                new OrderRequest(positionId, new BigDecimal("15"))
+        );
+        PlacedUserTransaction transaction = new PlacedUserTransaction(1L, IN_PROGRESS, orders);
+        BDDMockito.given(positionDao.getAllByIds(Set.of(positionId))).willReturn(Flux.just(position));
+        BDDMockito.given(positionDao.decreaseAmounts(1L, Map.of(positionId, 25d))).willReturn(Mono.just(true));
+        BDDMockito.given(producer.publishUserTransactionStatus(transaction)).willReturn(Mono.empty());
+
+        // when
+        Mono<PlacedUserTransaction> processed = underTest.consumeTransactionProcessing(transaction);
+
+        // then
+        processed.as(StepVerifier::create)
+                .expectNextMatches(result -> result.getStatus() == UserTransactionStatus.SUCCESS)
+                .verifyComplete();
+        BDDMockito.verify(positionDao).getAllByIds(Set.of(positionId));
+        BDDMockito.verify(positionDao).decreaseAmounts(1L, Map.of(positionId, 25d));
+    }
+
+    @Test
+    public void shouldRejectTransactionIfPositionIsAbsent() {
+        // given
+        String presentPositionId = "1";
+        String absentPositionId = "2";
+        Position position = Position.builder().id(presentPositionId).amount(100d).minAmount(1d).build();
+        List<OrderRequest> orders = List.of(
+                new OrderRequest(presentPositionId, new BigDecimal("10")),
+                new OrderRequest(absentPositionId, new BigDecimal("10"))
+        );
+        PlacedUserTransaction transaction = new PlacedUserTransaction(1L, IN_PROGRESS, orders);
+        BDDMockito.given(positionDao.getAllByIds(Set.of(presentPositionId, absentPositionId)))
+                .willReturn(Flux.just(position));
+        BDDMockito.given(producer.publishUserTransactionStatus(transaction)).willReturn(Mono.empty());
+
+        // when
+        Mono<PlacedUserTransaction> processed = underTest.consumeTransactionProcessing(transaction);
+
+        // then
+        processed.as(StepVerifier::create)
+                .expectNextMatches(result -> result.getStatus() == UserTransactionStatus.REJECTED)
+                .verifyComplete();
+        BDDMockito.verify(positionDao, BDDMockito.never()).decreaseAmounts(ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    public void shouldRejectTransactionIfPositionRanOutOfStock() {
+        // given
+        String positionId = "1";
+        Position position = Position.builder().id(positionId).amount(100d).minAmount(1d).build();
+        List<OrderRequest> orders = List.of(new OrderRequest(positionId, new BigDecimal("10")));
+        PlacedUserTransaction transaction = new PlacedUserTransaction(1L, IN_PROGRESS, orders);
+        BDDMockito.given(positionDao.getAllByIds(Set.of(positionId))).willReturn(Flux.just(position));
+        BDDMockito.given(positionDao.decreaseAmounts(1L, Map.of(positionId, 10d))).willReturn(Mono.just(false));
+        BDDMockito.given(producer.publishUserTransactionStatus(transaction)).willReturn(Mono.empty());
+
+        // when
+        Mono<PlacedUserTransaction> processed = underTest.consumeTransactionProcessing(transaction);
+
+        // then
+        processed.as(StepVerifier::create)
+                .expectNextMatches(result -> result.getStatus() == UserTransactionStatus.REJECTED)
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldAcceptRedeliveredTransactionWhichAlreadyDecreasedAmounts() {
+        // given
+        String positionId = "1";
+        Position position = Position.builder().id(positionId).amount(5d).minAmount(1d)
+                .appliedTransactionIds(List.of(1L)).build();
+        List<OrderRequest> orders = List.of(new OrderRequest(positionId, new BigDecimal("10")));
+        PlacedUserTransaction transaction = new PlacedUserTransaction(1L, IN_PROGRESS, orders);
+        BDDMockito.given(positionDao.getAllByIds(Set.of(positionId))).willReturn(Flux.just(position));
+        BDDMockito.given(positionDao.decreaseAmounts(1L, Map.of(positionId, 10d))).willReturn(Mono.just(true));
+        BDDMockito.given(producer.publishUserTransactionStatus(transaction)).willReturn(Mono.empty());
+
+        // when
+        Mono<PlacedUserTransaction> processed = underTest.consumeTransactionProcessing(transaction);
+
+        // then
+        processed.as(StepVerifier::create)
+                .expectNextMatches(result -> result.getStatus() == UserTransactionStatus.SUCCESS)
+                .verifyComplete();
+    }
+
+    @Test
+    public void shouldRetryFailedProcessing() {
+        // given
+        String positionId = "1";
+        Position position = Position.builder().id(positionId).amount(100d).minAmount(1d).build();
+        List<OrderRequest> orders = List.of(new OrderRequest(positionId, new BigDecimal("10")));
+        PlacedUserTransaction transaction = new PlacedUserTransaction(1L, IN_PROGRESS, orders);
+        BDDMockito.given(positionDao.getAllByIds(Set.of(positionId))).willReturn(Flux.just(position));
+        BDDMockito.given(positionDao.decreaseAmounts(1L, Map.of(positionId, 10d))).willReturn(Mono.just(true));
+        BDDMockito.given(producer.publishUserTransactionStatus(transaction))
+                .willReturn(Mono.error(new IllegalStateException("Broker is not available")), Mono.empty());
+
+        // when
+        Mono<PlacedUserTransaction> processed = underTest.processOrReject(transaction);
+
+        // then
+        processed.as(StepVerifier::create)
+                .expectNextMatches(result -> result.getStatus() == UserTransactionStatus.SUCCESS)
+                .verifyComplete();
+        BDDMockito.verify(positionDao, BDDMockito.never()).revertAmounts(ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    public void shouldRevertAmountsAndRejectTransactionIfRetriesAreExhausted() {
+        // given
+        String positionId = "1";
+        List<OrderRequest> orders = List.of(new OrderRequest(positionId, new BigDecimal("10")));
+        PlacedUserTransaction transaction = new PlacedUserTransaction(1L, IN_PROGRESS, orders);
+        BDDMockito.given(positionDao.getAllByIds(Set.of(positionId)))
+                .willReturn(Flux.error(new IllegalStateException("Database is not available")));
+        BDDMockito.given(positionDao.revertAmounts(1L, Map.of(positionId, 10d))).willReturn(Mono.empty());
+        BDDMockito.given(producer.publishUserTransactionStatus(transaction)).willReturn(Mono.empty());
+
+        // when
+        Mono<PlacedUserTransaction> processed = underTest.processOrReject(transaction);
+
+        // then
+        processed.as(StepVerifier::create)
+                .expectNextMatches(result -> result.getStatus() == UserTransactionStatus.REJECTED)
+                .verifyComplete();
+        BDDMockito.verify(positionDao).revertAmounts(1L, Map.of(positionId, 10d));
+    }
+
+    @Test
+    public void shouldFailIfRejectionCanNotBePublished() {
+        // given
+        String positionId = "1";
+        List<OrderRequest> orders = List.of(new OrderRequest(positionId, new BigDecimal("10")));
+        PlacedUserTransaction transaction = new PlacedUserTransaction(1L, IN_PROGRESS, orders);
+        BDDMockito.given(positionDao.getAllByIds(Set.of(positionId)))
+                .willReturn(Flux.error(new IllegalStateException("Database is not available")));
+        BDDMockito.given(positionDao.revertAmounts(1L, Map.of(positionId, 10d))).willReturn(Mono.empty());
+        BDDMockito.given(producer.publishUserTransactionStatus(transaction))
+                .willReturn(Mono.error(new IllegalStateException("Broker is not available")));
+
+        // when
+        Mono<PlacedUserTransaction> processed = underTest.processOrReject(transaction);
+
+        // then
+        processed.as(StepVerifier::create)
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,51 @@
+package com.modsensoftware.marketplace.unit.utils;
+
+import com.modsensoftware.marketplace.exception.InvalidCursorException;
+import com.modsensoftware.marketplace.utils.PageCursor;
+import org.assertj.core.api.Assertions;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+
+import static com.modsensoftware.marketplace.constants.Constants.MONGO_ID_FIELD_NAME;
+
+/**
+ * @author andrey.demyanchik on 1/30/2023
+ */
+public class PageCursorTest {
+
+    @Test
+    public void shouldQueryIdsGreaterThanObjectIdOfCursor() {
+        // given
+        ObjectId lastId = new ObjectId();
+        String after = PageCursor.encode(lastId.toHexString());
+
+        // when
+        Query query = PageCursor.afterQuery(after, 10);
+
+        // then
+        Document idCriteria = (Document) query.getQueryObject().get(MONGO_ID_FIELD_NAME);
+        Assertions.assertThat(idCriteria.get("$gt")).isEqualTo(lastId);
+    }
+
+    @Test
+    public void shouldNotAddCriteriaForFirstPage() {
+        // when
+        Query query = PageCursor.afterQuery(null, 10);
+
+        // then
+        Assertions.assertThat(query.getQueryObject()).isEmpty();
+    }
+
+    @Test
+    public void shouldFailOnCursorNotHoldingObjectId() {
+        // given
+        String after = PageCursor.encode("not an object id");
+
+        // when
+        // then
+        Assertions.assertThatThrownBy(() -> PageCursor.afterQuery(after, 10))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+}
@@ -0,0 +1,14 @@
+package com.modsensoftware.marketplace.paging;
+
+/**
+ * @author andrey.demyanchik on 1/30/2023
+ */
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
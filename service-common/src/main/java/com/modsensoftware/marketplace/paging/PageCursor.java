@@ -0,0 +1,64 @@
+package com.modsensoftware.marketplace.paging;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.AbstractMap;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Opaque cursor used for keyset pagination. The cursor holds creation
+ * timestamp and id of the last entity of the previous page, so the next
+ * page is fetched with an index range scan on {@code (created, id)}
+ * instead of skipping all the preceding rows.
+ *
+ * @author andrey.demyanchik on 1/30/2023
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PageCursor {
+
+    public static final String NEXT_CURSOR_HEADER_NAME = "X-Next-Cursor";
+
+    private static final String INVALID_CURSOR_MESSAGE = "Page cursor is not valid.";
+    private static final String DELIMITER = ",";
+
+    public static String encode(LocalDateTime created, Object id) {
+        String position = created + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return creation timestamp and id of the last entity of the previous page
+     */
+    public static <I> Map.Entry<LocalDateTime, I> decode(String cursor, Function<String, I> idParser) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parsed = position.split(DELIMITER, 2);
+            if (parsed.length != 2) {
+                throw new InvalidCursorException(INVALID_CURSOR_MESSAGE);
+            }
+            return new AbstractMap.SimpleImmutableEntry<>(LocalDateTime.parse(parsed[0]), idParser.apply(parsed[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(INVALID_CURSOR_MESSAGE, e);
+        }
+    }
+
+    /**
+     * Wraps the page into response carrying the cursor of the next page in a header.
+     * The header is omitted for an empty page, which means there are no more pages.
+     */
+    public static <T> ResponseEntity<List<T>> toPageResponse(List<T> page, Function<T, String> cursorExtractor) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!page.isEmpty()) {
+            response.header(NEXT_CURSOR_HEADER_NAME, cursorExtractor.apply(page.get(page.size() - 1)));
+        }
+        return response.body(page);
+    }
+}
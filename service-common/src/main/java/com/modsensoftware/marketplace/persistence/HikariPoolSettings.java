@@ -0,0 +1,77 @@
+package com.modsensoftware.marketplace.persistence;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.beans.PropertyDescriptor;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Settings of the connection pool created by Hibernate's HikariCP connection provider.
+ * The pool is configured from {@code spring.datasource.hikari}, just like the pool
+ * Spring Boot would create, so any Hikari property may be set there.
+ *
+ * @author andrey.demyanchik on 1/30/2023
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class HikariPoolSettings {
+
+    public static final String POOL_NAME = "SessionFactoryPool";
+
+    private static final String HIKARI_PROPERTIES_PREFIX = "spring.datasource.hikari";
+    private static final String HIBERNATE_HIKARI_PREFIX = "hibernate.hikari.";
+    private static final String DATA_SOURCE_PROPERTY_PREFIX = "dataSource.";
+
+    /**
+     * @return pool settings to be passed to Hibernate. Only the properties differing
+     * from Hikari's defaults are passed, driver properties such as the prepared
+     * statement cache are passed to the driver as they are
+     */
+    public static Map<String, String> poolProperties(Environment environment) {
+        HikariConfig config = Binder.get(environment)
+                .bind(HIKARI_PROPERTIES_PREFIX, Bindable.of(HikariConfig.class))
+                .orElseGet(HikariConfig::new);
+        config.setPoolName(POOL_NAME);
+
+        Map<String, String> settings = new HashMap<>();
+        BeanWrapper bound = new BeanWrapperImpl(config);
+        BeanWrapper defaults = new BeanWrapperImpl(new HikariConfig());
+        for (PropertyDescriptor property : bound.getPropertyDescriptors()) {
+            String name = property.getName();
+            if (!bound.isReadableProperty(name) || !bound.isWritableProperty(name)
+                    || !BeanUtils.isSimpleValueType(property.getPropertyType())) {
+                continue;
+            }
+            Object value = bound.getPropertyValue(name);
+            if (value != null && !Objects.equals(value, defaults.getPropertyValue(name))) {
+                settings.put(HIBERNATE_HIKARI_PREFIX + name, String.valueOf(value));
+            }
+        }
+        config.getDataSourceProperties().forEach((name, value) ->
+                settings.put(HIBERNATE_HIKARI_PREFIX + DATA_SOURCE_PROPERTY_PREFIX + name, String.valueOf(value)));
+        return settings;
+    }
+
+    /**
+     * Publishes metrics of the session factory's pool as {@code hikaricp_*} meters.
+     */
+    public static void registerPoolMetrics(SessionFactory sessionFactory, MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = sessionFactory.getSessionFactoryOptions().getServiceRegistry()
+                .getService(ConnectionProvider.class)
+                .unwrap(HikariDataSource.class);
+        dataSource.setMetricRegistry(meterRegistry);
+    }
+}
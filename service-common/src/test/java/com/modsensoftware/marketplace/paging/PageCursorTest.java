@@ -0,0 +1,56 @@
+package com.modsensoftware.marketplace.paging;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * @author andrey.demyanchik on 1/30/2023
+ */
+public class PageCursorTest {
+
+    @Test
+    public void shouldDecodeCreationTimestampAndIdOfEncodedCursor() {
+        // given
+        LocalDateTime created = LocalDateTime.of(2023, 1, 30, 12, 0, 0, 123_000_000);
+        UUID id = UUID.randomUUID();
+        String cursor = PageCursor.encode(created, id);
+
+        // when
+        Map.Entry<LocalDateTime, UUID> last = PageCursor.decode(cursor, UUID::fromString);
+
+        // then
+        Assertions.assertThat(last.getKey()).isEqualTo(created);
+        Assertions.assertThat(last.getValue()).isEqualTo(id);
+    }
+
+    @Test
+    public void shouldFailOnMalformedCursor() {
+        // given
+        String cursor = PageCursor.encode(LocalDateTime.now(), "not a number");
+
+        // when
+        // then
+        Assertions.assertThatThrownBy(() -> PageCursor.decode(cursor, Long::valueOf))
+                .isInstanceOf(InvalidCursorException.class);
+        Assertions.assertThatThrownBy(() -> PageCursor.decode("not base64!", Long::valueOf))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    public void shouldPassCursorOfLastEntityOnlyForNonEmptyPage() {
+        // when
+        ResponseEntity<List<Long>> page = PageCursor.toPageResponse(List.of(1L, 2L), String::valueOf);
+        ResponseEntity<List<Long>> lastPage = PageCursor.toPageResponse(Collections.emptyList(), String::valueOf);
+
+        // then
+        Assertions.assertThat(page.getHeaders().getFirst(PageCursor.NEXT_CURSOR_HEADER_NAME)).isEqualTo("2");
+        Assertions.assertThat(lastPage.getHeaders().containsKey(PageCursor.NEXT_CURSOR_HEADER_NAME)).isFalse();
+    }
+}
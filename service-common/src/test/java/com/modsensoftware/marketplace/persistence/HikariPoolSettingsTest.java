@@ -0,0 +1,43 @@
+package com.modsensoftware.marketplace.persistence;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Map;
+
+/**
+ * @author andrey.demyanchik on 1/30/2023
+ */
+public class HikariPoolSettingsTest {
+
+    @Test
+    public void shouldPassBoundPoolPropertiesToHibernate() {
+        // given
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "10")
+                .withProperty("spring.datasource.hikari.leak-detection-threshold", "20000")
+                .withProperty("spring.datasource.hikari.data-source-properties.prepareThreshold", "3");
+
+        // when
+        Map<String, String> settings = HikariPoolSettings.poolProperties(environment);
+
+        // then
+        Assertions.assertThat(settings)
+                .containsEntry("hibernate.hikari.poolName", HikariPoolSettings.POOL_NAME)
+                .containsEntry("hibernate.hikari.maximumPoolSize", "10")
+                .containsEntry("hibernate.hikari.leakDetectionThreshold", "20000")
+                .containsEntry("hibernate.hikari.dataSource.prepareThreshold", "3")
+                .doesNotContainKey("hibernate.hikari.minimumIdle");
+    }
+
+    @Test
+    public void shouldNameThePoolWhenNoPoolPropertiesAreSet() {
+        // when
+        Map<String, String> settings = HikariPoolSettings.poolProperties(new MockEnvironment());
+
+        // then
+        Assertions.assertThat(settings)
+                .containsOnlyKeys("hibernate.hikari.poolName");
+    }
+}
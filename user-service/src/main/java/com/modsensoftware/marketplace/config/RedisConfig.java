@@ -1,21 +1,26 @@
 package com.modsensoftware.marketplace.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.modsensoftware.marketplace.dto.response.UserResponseDto;
+import com.modsensoftware.marketplace.cache.TaggedCacheManager;
+import com.modsensoftware.marketplace.dto.response.UserResponse;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
+import static com.modsensoftware.marketplace.constants.Constants.FILTERED_USERS_CACHE_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.SINGLE_USER_CACHE_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.USERS_CACHE_NAME;
 
@@ -39,26 +44,33 @@ public class RedisConfig {
     }
 
     @Bean
-    public RedisCacheManagerBuilderCustomizer redisCacheManagerBuilderCustomizer() {
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory, StringRedisTemplate redisTemplate) {
         ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
-        Jackson2JsonRedisSerializer<UserResponseDto> userValueSerializer
-                = new Jackson2JsonRedisSerializer<>(UserResponseDto.class);
+        Jackson2JsonRedisSerializer<UserResponse> userValueSerializer
+                = new Jackson2JsonRedisSerializer<>(UserResponse.class);
         userValueSerializer.setObjectMapper(mapper);
         Jackson2JsonRedisSerializer<List> usersValueSerializer
                 = new Jackson2JsonRedisSerializer<>(List.class);
         usersValueSerializer.setObjectMapper(mapper);
-        return builder -> builder
+        RedisCacheConfiguration usersCacheConfiguration = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofMillis(userTtlMillis))
+                .disableCachingNullValues()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(usersValueSerializer));
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .withCacheConfiguration(SINGLE_USER_CACHE_NAME,
                         RedisCacheConfiguration.defaultCacheConfig()
                                 .entryTtl(Duration.ofMillis(userTtlMillis))
                                 .disableCachingNullValues()
                                 .serializeValuesWith(RedisSerializationContext.SerializationPair
                                         .fromSerializer(userValueSerializer)))
-                .withCacheConfiguration(USERS_CACHE_NAME,
-                        RedisCacheConfiguration.defaultCacheConfig()
-                                .entryTtl(Duration.ofMillis(userTtlMillis))
-                                .disableCachingNullValues()
-                                .serializeValuesWith(RedisSerializationContext.SerializationPair
-                                        .fromSerializer(usersValueSerializer)));
+                .withCacheConfiguration(USERS_CACHE_NAME, usersCacheConfiguration)
+                .withCacheConfiguration(FILTERED_USERS_CACHE_NAME, usersCacheConfiguration)
+                .build();
+        redisCacheManager.initializeCaches();
+        // Only unfiltered pages are tagged, pages of filtered lists are evicted entirely
+        // as an updated entity may start or stop matching the filters
+        return new TaggedCacheManager(redisCacheManager, redisTemplate,
+                Map.of(USERS_CACHE_NAME, user -> ((UserResponse) user).getId()));
     }
 }
@@ -1,15 +1,22 @@
 package com.modsensoftware.marketplace.config;
 
 import com.modsensoftware.marketplace.domain.User;
+import com.modsensoftware.marketplace.persistence.HikariPoolSettings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jpa.HibernateMetrics;
+import lombok.RequiredArgsConstructor;
 import org.hibernate.SessionFactory;
 import org.hibernate.boot.Metadata;
 import org.hibernate.boot.MetadataSources;
 import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
 import org.hibernate.service.ServiceRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -17,8 +24,12 @@ import java.util.Map;
  * @author andrey.demyanchik on 11/15/2022
  */
 @Configuration
+@RequiredArgsConstructor
 public class SessionFactoryConfig {
 
+    private final Environment environment;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
     @Value("${spring.datasource.url}")
     private String url;
     @Value("${spring.datasource.username}")
@@ -31,6 +42,18 @@ public class SessionFactoryConfig {
     private String driverClassName;
     @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
     private String batchSize;
+    @Value("${spring.jpa.show-sql}")
+    private String showSql;
+    @Value("${spring.jpa.properties.hibernate.format_sql}")
+    private String formatSql;
+    @Value("${spring.jpa.properties.hibernate.cache.use_second_level_cache}")
+    private String useSecondLevelCache;
+    @Value("${spring.jpa.properties.hibernate.cache.use_query_cache}")
+    private String useQueryCache;
+    @Value("${spring.jpa.properties.hibernate.generate_statistics}")
+    private String generateStatistics;
+
+    private static final String SESSION_FACTORY_NAME = "sessionFactory";
 
     @Value("${exception.message.sessionFactoryInitFail}")
     private String sessionFactoryInitFailMessage;
@@ -44,7 +67,9 @@ public class SessionFactoryConfig {
         metadataSources.addAnnotatedClass(User.class);
         Metadata metadata = metadataSources.buildMetadata();
         try {
-            return metadata.getSessionFactoryBuilder().build();
+            SessionFactory sessionFactory = metadata.getSessionFactoryBuilder().build();
+            registerMetrics(sessionFactory);
+            return sessionFactory;
         } catch (Exception e) {
             StandardServiceRegistryBuilder.destroy(serviceRegistry);
             throw new ExceptionInInitializerError(sessionFactoryInitFailMessage + e);
@@ -60,9 +85,11 @@ public class SessionFactoryConfig {
         settings.put("hibernate.default_schema", schemaName);
         settings.put("hibernate.jdbc.batch_size", batchSize);
         settings.put("dialect", "org.hibernate.dialect.PostgreSQL10Dialect");
-        settings.put("hibernate.show_sql", "true");
-        settings.put("hibernate.format_sql", "true");
+        settings.put("hibernate.show_sql", showSql);
+        settings.put("hibernate.format_sql", formatSql);
         settings.put("hbm2ddl.auto", "none");
+        settings.putAll(cacheProperties());
+        settings.put("hibernate.generate_statistics", generateStatistics);
         settings.put("hibernate.connection.provider_class", "org.hibernate.hikaricp.internal.HikariCPConnectionProvider");
         // For some reason HikariCP does not receive connection.* properties specified above
         // Therefore setting hikari properties manually
@@ -70,6 +97,28 @@ public class SessionFactoryConfig {
         settings.put("hibernate.hikari.password", password);
         settings.put("hibernate.hikari.jdbcUrl", url);
         settings.put("hibernate.hikari.driverClassName", driverClassName);
+        settings.putAll(HikariPoolSettings.poolProperties(environment));
+        return settings;
+    }
+
+    /**
+     * Second-level cache is opt-in. Regions are created on demand by Caffeine's JCache provider,
+     * their sizes and expiration are configured in application.conf.
+     */
+    private Map<String, String> cacheProperties() {
+        Map<String, String> settings = new HashMap<>();
+        settings.put("hibernate.cache.use_second_level_cache", useSecondLevelCache);
+        settings.put("hibernate.cache.use_query_cache", useQueryCache);
+        settings.put("hibernate.cache.region.factory_class", "jcache");
+        settings.put("hibernate.javax.cache.provider", "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider");
+        settings.put("hibernate.javax.cache.missing_cache_strategy", "create");
         return settings;
     }
+
+    private void registerMetrics(SessionFactory sessionFactory) {
+        meterRegistry.ifAvailable(registry -> {
+            HikariPoolSettings.registerPoolMetrics(sessionFactory, registry);
+            HibernateMetrics.monitor(registry, sessionFactory, SESSION_FACTORY_NAME, Collections.emptyList());
+        });
+    }
 }
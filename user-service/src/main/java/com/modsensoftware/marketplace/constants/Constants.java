@@ -16,12 +16,18 @@ public final class Constants {
     public static final long MIN_PAGE_NUMBER = 0L;
     public static final String EMAIL_REGEX = "(\\w+)@(\\w+\\.)(\\w+)(\\.\\w+)*";
 
+    public static final String ID_PATH_VARIABLE_NAME = "id";
     public static final String PAGE_FILTER_NAME = "page";
+    public static final String IDS_FILTER_NAME = "ids";
     public static final String DEFAULT_PAGE_NUMBER = "0";
+    public static final String AFTER_FILTER_NAME = "after";
     public static final String EMAIL_FILTER_NAME = "email";
     public static final String NAME_FILTER_NAME = "name";
+    public static final String PREFIX_SEARCH_WILDCARD = "*";
+    public static final String SIMILARITY_FUNCTION_NAME = "similarity";
     public static final String CREATED_BETWEEN_FILTER_NAME = "created";
     public static final String COMPANY_ID_FILTER_NAME = "companyId";
     public static final String USERS_CACHE_NAME = "users";
+    public static final String FILTERED_USERS_CACHE_NAME = "filteredUsers";
     public static final String SINGLE_USER_CACHE_NAME = "user";
 }
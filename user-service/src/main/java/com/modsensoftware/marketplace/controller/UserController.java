@@ -3,9 +3,11 @@ package com.modsensoftware.marketplace.controller;
 import com.modsensoftware.marketplace.dto.request.UserRequest;
 import com.modsensoftware.marketplace.dto.response.UserResponse;
 import com.modsensoftware.marketplace.service.UserService;
+import com.modsensoftware.marketplace.paging.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -23,11 +25,13 @@ import javax.validation.constraints.Min;
 import java.util.List;
 import java.util.UUID;
 
+import static com.modsensoftware.marketplace.constants.Constants.AFTER_FILTER_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.COMPANY_ID_FILTER_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.CREATED_BETWEEN_FILTER_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.DEFAULT_PAGE_NUMBER;
 import static com.modsensoftware.marketplace.constants.Constants.EMAIL_FILTER_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.EMAIL_REGEX;
+import static com.modsensoftware.marketplace.constants.Constants.IDS_FILTER_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.ID_PATH_VARIABLE_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.INVALID_EMAIL_MESSAGE;
 import static com.modsensoftware.marketplace.constants.Constants.MIN_PAGE_NUMBER;
@@ -62,6 +66,28 @@ public class UserController {
         return userService.getAllUsers(pageNumber, email, name, createdBetween, companyId);
     }
 
+    @GetMapping(params = AFTER_FILTER_NAME, produces = {"application/json"})
+    public ResponseEntity<List<UserResponse>> getAllUsersAfter(
+            @RequestParam(name = AFTER_FILTER_NAME) String after,
+            @RequestParam(name = EMAIL_FILTER_NAME, required = false)
+            @Email(regexp = EMAIL_REGEX, message = INVALID_EMAIL_MESSAGE) String email,
+            @RequestParam(name = NAME_FILTER_NAME, required = false) String name,
+            @RequestParam(name = CREATED_BETWEEN_FILTER_NAME, required = false) String createdBetween,
+            @RequestParam(name = COMPANY_ID_FILTER_NAME, required = false) Long companyId
+    ) {
+        log.debug("Fetching all users after cursor {}. "
+                        + "Filter by email: {}, name: {}, created between: {}, company id: {}",
+                after, email, name, createdBetween, companyId);
+        return PageCursor.toPageResponse(userService.getAllUsers(after, email, name, createdBetween, companyId),
+                user -> PageCursor.encode(user.getCreated(), user.getId()));
+    }
+
+    @GetMapping(params = IDS_FILTER_NAME, produces = {"application/json"})
+    public List<UserResponse> getUsersByIds(@RequestParam(name = IDS_FILTER_NAME) List<UUID> ids) {
+        log.debug("Fetching users by ids: {}", ids);
+        return userService.getUsersByIds(ids);
+    }
+
     @GetMapping(value = "/{id}", produces = {"application/json"})
     public UserResponse getUserById(@PathVariable(name = ID_PATH_VARIABLE_NAME) UUID id) {
         log.debug("Fetching user by id: {}", id);
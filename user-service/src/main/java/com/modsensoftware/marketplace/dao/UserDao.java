@@ -3,6 +3,7 @@ package com.modsensoftware.marketplace.dao;
 import com.modsensoftware.marketplace.domain.User;
 import com.modsensoftware.marketplace.exception.EntityNotFoundException;
 import com.modsensoftware.marketplace.exception.InvalidFilterException;
+import com.modsensoftware.marketplace.paging.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.Session;
@@ -12,24 +13,31 @@ import org.hibernate.query.Query;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
-import javax.persistence.NoResultException;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaDelete;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static com.modsensoftware.marketplace.constants.Constants.COMPANY_ID_FILTER_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.CREATED_BETWEEN_FILTER_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.EMAIL_FILTER_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.NAME_FILTER_NAME;
+import static com.modsensoftware.marketplace.constants.Constants.PREFIX_SEARCH_WILDCARD;
+import static com.modsensoftware.marketplace.constants.Constants.SIMILARITY_FUNCTION_NAME;
 import static com.modsensoftware.marketplace.domain.User.COMPANY_ID_FIELD_NAME;
 import static com.modsensoftware.marketplace.domain.User.CREATED_FIELD_NAME;
 import static com.modsensoftware.marketplace.domain.User.EMAIL_FIELD_NAME;
@@ -60,26 +68,19 @@ public class UserDao implements Dao<User, UUID> {
     private static final String CREATED_BETWEEN_DELIMITER = ",";
     private static final int TIMESTAMPS_AMOUNT_EXPECTED_IN_FILTER = 2;
 
+    /**
+     * Loads the user by id, so it is served by the second-level cache when it is enabled.
+     */
     @Override
     public User get(UUID id) {
         log.debug("Fetching user entity with uuid {}", id);
-        Session session = sessionFactory.openSession();
-        CriteriaBuilder cb = session.getCriteriaBuilder();
-        CriteriaQuery<User> byId = cb.createQuery(User.class);
-        Root<User> root = byId.from(User.class);
-
-        byId.select(root).where(
-                cb.and(cb.equal(root.get(User.ID_FIELD_NAME), id))
-        );
-
-        Query<User> query = session.createQuery(byId);
-        try {
-            return query.getSingleResult();
-        } catch (NoResultException e) {
-            log.error("User entity with uuid {} not found", id);
-            throw new EntityNotFoundException(format(userNotFoundMessage, id), e);
-        } finally {
-            session.close();
+        try (Session session = sessionFactory.openSession()) {
+            User user = session.get(User.class, id);
+            if (user == null) {
+                log.error("User entity with uuid {} not found", id);
+                throw new EntityNotFoundException(format(userNotFoundMessage, id));
+            }
+            return user;
         }
     }
 
@@ -92,7 +93,8 @@ public class UserDao implements Dao<User, UUID> {
         Root<User> root = getAll.from(User.class);
 
         List<Predicate> predicates = constructPredicatesFromProps(filterProperties, cb, root);
-        getAll.select(root).where(predicates.toArray(new Predicate[0]));
+        getAll.select(root).where(predicates.toArray(new Predicate[0]))
+                .orderBy(constructRankingFromProps(filterProperties, cb, root));
 
         Query<User> query = session.createQuery(getAll);
         query.setFirstResult(pageSize * pageNumber);
@@ -102,6 +104,49 @@ public class UserDao implements Dao<User, UUID> {
         return result;
     }
 
+    @Override
+    public List<User> getAll(String after, Map<String, String> filterProperties) {
+        log.debug("Fetching all users after cursor {}", after);
+        Session session = sessionFactory.openSession();
+        CriteriaBuilder cb = session.getCriteriaBuilder();
+        CriteriaQuery<User> getAll = cb.createQuery(User.class);
+        Root<User> root = getAll.from(User.class);
+
+        List<Predicate> predicates = constructPredicatesFromProps(filterProperties, cb, root);
+        if (after != null && !after.isEmpty()) {
+            Map.Entry<LocalDateTime, UUID> last = PageCursor.decode(after, UUID::fromString);
+            // (created, id) > (last created, last id). The first predicate bounds the index range scan
+            predicates.add(cb.greaterThanOrEqualTo(root.get(CREATED_FIELD_NAME), last.getKey()));
+            predicates.add(cb.or(
+                    cb.greaterThan(root.get(CREATED_FIELD_NAME), last.getKey()),
+                    cb.greaterThan(root.get(User.ID_FIELD_NAME), last.getValue())
+            ));
+        }
+        getAll.select(root).where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(root.get(CREATED_FIELD_NAME)), cb.asc(root.get(User.ID_FIELD_NAME)));
+
+        Query<User> query = session.createQuery(getAll);
+        query.setMaxResults(pageSize);
+        List<User> result = query.getResultList();
+        session.close();
+        return result;
+    }
+
+    /**
+     * Users found in the second-level cache are not fetched again,
+     * the rest are fetched with a single query.
+     */
+    public List<User> getAllByIds(Collection<UUID> ids) {
+        log.debug("Fetching user entities with uuids {}", ids);
+        try (Session session = sessionFactory.openSession()) {
+            return session.byMultipleIds(User.class)
+                    .multiLoad(new ArrayList<>(ids))
+                    .stream()
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        }
+    }
+
     @Override
     public UUID save(User user) {
         log.debug("Saving user entity: {}", user);
@@ -166,9 +211,9 @@ public class UserDao implements Dao<User, UUID> {
         List<Predicate> predicates = new ArrayList<>();
         filterProperties.forEach((key, value) -> {
             if (key.equals(EMAIL_FILTER_NAME)) {
-                predicates.add(cb.like(root.get(EMAIL_FIELD_NAME), wrapIn(value, "%")));
+                predicates.add(textMatches(cb, root.get(EMAIL_FIELD_NAME), value));
             } else if (key.equals(NAME_FILTER_NAME)) {
-                predicates.add(cb.like(root.get(FULL_NAME_FIELD_NAME), wrapIn(value, "%")));
+                predicates.add(textMatches(cb, root.get(FULL_NAME_FIELD_NAME), value));
             } else if (key.equals(CREATED_BETWEEN_FILTER_NAME)) {
                 Map.Entry<String, String> borders = parseCreatedBetween(value);
                 predicates.add(cb.between(root.get(CREATED_FIELD_NAME),
@@ -192,4 +237,41 @@ public class UserDao implements Dao<User, UUID> {
         borders.put(parsed[0], parsed[1]);
         return borders.entrySet().iterator().next();
     }
+
+    /**
+     * Value ending with {@link com.modsensoftware.marketplace.constants.Constants#PREFIX_SEARCH_WILDCARD}
+     * is matched as prefix, which is served by the btree pattern index. Any other value is
+     * matched as substring, which is served by the trigram index.
+     */
+    private Predicate textMatches(CriteriaBuilder cb, Path<String> field, String value) {
+        if (value.endsWith(PREFIX_SEARCH_WILDCARD)) {
+            return cb.like(field, value.substring(0, value.length() - PREFIX_SEARCH_WILDCARD.length()) + "%");
+        }
+        return cb.like(field, wrapIn(value, "%"));
+    }
+
+    /**
+     * Entities matching substring filters best go first,
+     * the rest of the order keeps the pages stable.
+     */
+    private List<Order> constructRankingFromProps(
+            Map<String, String> filterProperties,
+            CriteriaBuilder cb, Root<User> root) {
+        List<Expression<Double>> similarities = new ArrayList<>();
+        filterProperties.forEach((key, value) -> {
+            if (key.equals(EMAIL_FILTER_NAME) && !value.endsWith(PREFIX_SEARCH_WILDCARD)) {
+                similarities.add(cb.function(SIMILARITY_FUNCTION_NAME, Double.class,
+                        root.get(EMAIL_FIELD_NAME), cb.literal(value)));
+            }
+            if (key.equals(NAME_FILTER_NAME) && !value.endsWith(PREFIX_SEARCH_WILDCARD)) {
+                similarities.add(cb.function(SIMILARITY_FUNCTION_NAME, Double.class,
+                        root.get(FULL_NAME_FIELD_NAME), cb.literal(value)));
+            }
+        });
+        List<Order> ranking = new ArrayList<>();
+        similarities.stream().reduce(cb::sum).ifPresent(rank -> ranking.add(cb.desc(rank)));
+        ranking.add(cb.asc(root.get(CREATED_FIELD_NAME)));
+        ranking.add(cb.asc(root.get(User.ID_FIELD_NAME)));
+        return ranking;
+    }
 }
@@ -4,8 +4,11 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Type;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
@@ -14,6 +17,8 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 /**
+ * Cached in the second-level cache when it is enabled.
+ *
  * @author andrey.demyanchik on 10/31/2022
  */
 @Data
@@ -21,6 +26,8 @@ import java.util.UUID;
 @AllArgsConstructor
 @Entity
 @Builder
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "\"user\"", schema = "user_service")
 public class User {
 
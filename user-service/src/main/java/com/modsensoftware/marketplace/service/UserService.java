@@ -3,6 +3,7 @@ package com.modsensoftware.marketplace.service;
 import com.modsensoftware.marketplace.dto.request.UserRequest;
 import com.modsensoftware.marketplace.dto.response.UserResponse;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -16,6 +17,11 @@ public interface UserService {
     List<UserResponse> getAllUsers(int pageNumber, String email,
                                    String name, String createdBetween, Long companyId);
 
+    List<UserResponse> getAllUsers(String after, String email,
+                                   String name, String createdBetween, Long companyId);
+
+    List<UserResponse> getUsersByIds(Collection<UUID> ids);
+
     String createUser(UserRequest userDto);
 
     void deleteUser(UUID id);
@@ -6,9 +6,12 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.Collection;
 import java.util.List;
 
+import static com.modsensoftware.marketplace.constants.Constants.IDS_FILTER_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.ID_PATH_VARIABLE_NAME;
 
 /**
@@ -22,8 +25,8 @@ import static com.modsensoftware.marketplace.constants.Constants.ID_PATH_VARIABL
 )
 public interface CompanyClient {
 
-    @RequestMapping(value = "/", method = RequestMethod.GET)
-    List<Company> getCompanies();
+    @RequestMapping(value = "/", produces = {"application/json"}, method = RequestMethod.GET)
+    List<Company> getCompaniesByIds(@RequestParam(name = IDS_FILTER_NAME) Collection<Long> ids);
 
     @RequestMapping(value = "/{id}", produces = {"application/json"}, method = RequestMethod.GET)
     Company getCompanyById(@PathVariable(name = ID_PATH_VARIABLE_NAME) Long id);
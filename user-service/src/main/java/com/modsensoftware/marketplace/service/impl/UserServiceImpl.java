@@ -30,9 +30,13 @@ import javax.ws.rs.NotFoundException;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Response;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -40,6 +44,7 @@ import java.util.stream.Collectors;
 import static com.modsensoftware.marketplace.constants.Constants.COMPANY_ID_FILTER_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.CREATED_BETWEEN_FILTER_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.EMAIL_FILTER_NAME;
+import static com.modsensoftware.marketplace.constants.Constants.FILTERED_USERS_CACHE_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.NAME_FILTER_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.SINGLE_USER_CACHE_NAME;
 import static com.modsensoftware.marketplace.constants.Constants.USERS_CACHE_NAME;
@@ -78,7 +83,12 @@ public class UserServiceImpl implements UserService {
         return userMapper.toResponseDto(user, company);
     }
 
-    @Cacheable(cacheNames = USERS_CACHE_NAME)
+    @Caching(cacheable = {
+            @Cacheable(cacheNames = USERS_CACHE_NAME,
+                    condition = "#email == null && #name == null && #createdBetween == null && #companyId == null"),
+            @Cacheable(cacheNames = FILTERED_USERS_CACHE_NAME,
+                    condition = "#email != null || #name != null || #createdBetween != null || #companyId != null")
+    })
     @Override
     public List<UserResponse> getAllUsers(int pageNumber, String email,
                                           String name, String createdBetween,
@@ -86,28 +96,40 @@ public class UserServiceImpl implements UserService {
         log.debug("Fetching all users for page {}. "
                         + "Filter by email: {}, name: {}, created between: {}, company id: {}",
                 pageNumber, email, name, createdBetween, companyId);
-        Map<String, String> filterProperties = new HashMap<>();
-        Utils.putIfNotNull(EMAIL_FILTER_NAME, email, filterProperties::put);
-        Utils.putIfNotNull(NAME_FILTER_NAME, name, filterProperties::put);
-        if (createdBetween != null) {
-            filterProperties.put(CREATED_BETWEEN_FILTER_NAME, createdBetween);
-        }
-        if (companyId != null) {
-            filterProperties.put(COMPANY_ID_FILTER_NAME, companyId.toString());
-        }
+        Map<String, String> filterProperties = toFilterProperties(email, name, createdBetween, companyId);
         List<User> users = userDao.getAll(pageNumber, filterProperties);
-        List<Company> companies = companyClient.getCompanies();
-        Map<Long, Company> companyIdSelfMap = companies.stream()
-                .collect(Collectors.toMap(Company::getId, Function.identity()));
-        return users.stream()
-                // Filtering users whose company is not present (i.e. company is soft deleted)
-                .filter(user -> companyIdSelfMap.containsKey(user.getCompanyId()))
-                // Mapping users to response DTOs
-                .map(user -> userMapper.toResponseDto(user, companyIdSelfMap.get(user.getCompanyId())))
-                .collect(Collectors.toList());
+        return toResponseDtosWithCompanies(users);
+    }
+
+    @Caching(cacheable = {
+            @Cacheable(cacheNames = USERS_CACHE_NAME,
+                    condition = "#email == null && #name == null && #createdBetween == null && #companyId == null"),
+            @Cacheable(cacheNames = FILTERED_USERS_CACHE_NAME,
+                    condition = "#email != null || #name != null || #createdBetween != null || #companyId != null")
+    })
+    @Override
+    public List<UserResponse> getAllUsers(String after, String email,
+                                          String name, String createdBetween,
+                                          Long companyId) {
+        log.debug("Fetching all users after cursor {}. "
+                        + "Filter by email: {}, name: {}, created between: {}, company id: {}",
+                after, email, name, createdBetween, companyId);
+        Map<String, String> filterProperties = toFilterProperties(email, name, createdBetween, companyId);
+        List<User> users = userDao.getAll(after, filterProperties);
+        return toResponseDtosWithCompanies(users);
     }
 
-    @CacheEvict(cacheNames = USERS_CACHE_NAME, allEntries = true)
+    @Override
+    public List<UserResponse> getUsersByIds(Collection<UUID> ids) {
+        log.debug("Fetching users by ids: {}", ids);
+        List<User> users = userDao.getAllByIds(ids);
+        return toResponseDtosWithCompanies(users);
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = USERS_CACHE_NAME, allEntries = true),
+            @CacheEvict(cacheNames = FILTERED_USERS_CACHE_NAME, allEntries = true)
+    })
     @Override
     public String createUser(UserRequest userDto) {
         log.debug("Registering new user from dto: {}", userDto);
@@ -144,6 +166,7 @@ public class UserServiceImpl implements UserService {
 
     @Caching(evict = {
             @CacheEvict(cacheNames = USERS_CACHE_NAME, allEntries = true),
+            @CacheEvict(cacheNames = FILTERED_USERS_CACHE_NAME, allEntries = true),
             @CacheEvict(cacheNames = SINGLE_USER_CACHE_NAME, key = "#id")
     })
     @Override
@@ -160,7 +183,8 @@ public class UserServiceImpl implements UserService {
     }
 
     @Caching(evict = {
-            @CacheEvict(cacheNames = USERS_CACHE_NAME, allEntries = true),
+            @CacheEvict(cacheNames = USERS_CACHE_NAME, key = "#id"),
+            @CacheEvict(cacheNames = FILTERED_USERS_CACHE_NAME, allEntries = true),
             @CacheEvict(cacheNames = SINGLE_USER_CACHE_NAME, key = "#id")
     })
     @Override
@@ -189,6 +213,39 @@ public class UserServiceImpl implements UserService {
         userDao.update(id, user);
     }
 
+    private Map<String, String> toFilterProperties(String email, String name,
+                                                   String createdBetween, Long companyId) {
+        Map<String, String> filterProperties = new HashMap<>();
+        Utils.putIfNotNull(EMAIL_FILTER_NAME, email, filterProperties::put);
+        Utils.putIfNotNull(NAME_FILTER_NAME, name, filterProperties::put);
+        if (createdBetween != null) {
+            filterProperties.put(CREATED_BETWEEN_FILTER_NAME, createdBetween);
+        }
+        if (companyId != null) {
+            filterProperties.put(COMPANY_ID_FILTER_NAME, companyId.toString());
+        }
+        return filterProperties;
+    }
+
+    private List<UserResponse> toResponseDtosWithCompanies(List<User> users) {
+        // Resolving exactly the companies of the loaded users, whatever page they are on
+        Set<Long> companyIds = users.stream()
+                .map(User::getCompanyId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Company> companyIdSelfMap = companyIds.isEmpty()
+                ? Collections.emptyMap()
+                : companyClient.getCompaniesByIds(companyIds).stream()
+                .collect(Collectors.toMap(Company::getId, Function.identity()));
+        return users.stream()
+                // Filtering users whose company is not present (i.e. company is soft deleted),
+                // users without a company are kept
+                .filter(user -> user.getCompanyId() == null || companyIdSelfMap.containsKey(user.getCompanyId()))
+                // Mapping users to response DTOs
+                .map(user -> userMapper.toResponseDto(user, companyIdSelfMap.get(user.getCompanyId())))
+                .collect(Collectors.toList());
+    }
+
     private UsersResource getUsersResource() {
         RealmResource realmResource = keycloak.realm(realmName);
         return realmResource.users();
@@ -16,8 +16,9 @@ import static java.nio.charset.Charset.defaultCharset;
  */
 public class CompanyStubs {
 
-    public static void setupGetAllCompanyMockResponse(WireMockServer mockServer) throws IOException {
-        mockServer.stubFor(WireMock.get(WireMock.urlEqualTo("/api/v1/companies/"))
+    public static void setupGetCompaniesByIdsMockResponse(WireMockServer mockServer) throws IOException {
+        mockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo("/api/v1/companies/"))
+                .withQueryParam("ids", WireMock.matching("\\d+"))
                 .willReturn(
                         WireMock.aResponse()
                                 .withStatus(HttpStatus.OK.value())
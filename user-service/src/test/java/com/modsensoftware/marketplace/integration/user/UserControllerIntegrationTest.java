@@ -114,8 +114,8 @@ public class UserControllerIntegrationTest extends AbstractIntegrationTest {
     @Test
     public void shouldReturnAllUsersFiltered() throws IOException {
         // given
-        CompanyStubs.setupGetAllCompanyMockResponse(wireMockServer1);
-        CompanyStubs.setupGetAllCompanyMockResponse(wireMockServer2);
+        CompanyStubs.setupGetCompaniesByIdsMockResponse(wireMockServer1);
+        CompanyStubs.setupGetCompaniesByIdsMockResponse(wireMockServer2);
         int expectedUsersAmount = 2;
         String emailFilter = "user.com";
         // when
@@ -134,8 +134,8 @@ public class UserControllerIntegrationTest extends AbstractIntegrationTest {
     @Test
     public void shouldLoadBalanceGetAllUsers() throws IOException {
         // given
-        CompanyStubs.setupGetAllCompanyMockResponse(wireMockServer1);
-        CompanyStubs.setupGetAllCompanyMockResponse(wireMockServer2);
+        CompanyStubs.setupGetCompaniesByIdsMockResponse(wireMockServer1);
+        CompanyStubs.setupGetCompaniesByIdsMockResponse(wireMockServer2);
         // when
         // then
         for (int i = 0; i < 10; i++) {
@@ -147,9 +147,9 @@ public class UserControllerIntegrationTest extends AbstractIntegrationTest {
                     .statusCode(200);
         }
         wireMockServer1.verify(WireMock.moreThan(0),
-                WireMock.getRequestedFor(WireMock.urlEqualTo("/api/v1/companies/")));
+                WireMock.getRequestedFor(WireMock.urlPathEqualTo("/api/v1/companies/")));
         wireMockServer2.verify(WireMock.moreThan(0),
-                WireMock.getRequestedFor(WireMock.urlEqualTo("/api/v1/companies/")));
+                WireMock.getRequestedFor(WireMock.urlPathEqualTo("/api/v1/companies/")));
     }
 
     @Test
@@ -3,8 +3,10 @@ package com.modsensoftware.marketplace.unit.user;
 import com.modsensoftware.marketplace.dao.UserDao;
 import com.modsensoftware.marketplace.domain.User;
 import com.modsensoftware.marketplace.exception.EntityNotFoundException;
+import com.modsensoftware.marketplace.paging.InvalidCursorException;
 import com.modsensoftware.marketplace.exception.InvalidFilterException;
 import com.modsensoftware.marketplace.unit.AbstractDaoTest;
+import com.modsensoftware.marketplace.paging.PageCursor;
 import org.assertj.core.api.Assertions;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
@@ -72,6 +74,28 @@ public class UserDaoTest extends AbstractDaoTest {
     }
 
 
+    @Test
+    public void canGetUsersByIds() {
+        // given
+        Long companyId = 1L;
+        Random random = new Random();
+        User first = generateUserWithRandomEmailAndCompanyId(random, companyId);
+        User second = generateUserWithRandomEmailAndCompanyId(random, companyId);
+        User notRequested = generateUserWithRandomEmailAndCompanyId(random, companyId);
+        underTest.save(first);
+        underTest.save(second);
+        underTest.save(notRequested);
+
+        // when
+        List<User> result = underTest.getAllByIds(List.of(first.getId(), second.getId()));
+
+        // then
+        Assertions.assertThat(result).containsExactlyInAnyOrder(first, second);
+
+        // clean up
+        deleteAllUsers(List.of(first, second, notRequested));
+    }
+
     @Test
     public void canGetUsersWithPagination() {
         // given
@@ -96,6 +120,41 @@ public class UserDaoTest extends AbstractDaoTest {
         deleteAllUsers(users);
     }
 
+    @Test
+    public void canGetUsersWithKeysetPagination() {
+        // given
+        Long companyId = 1L;
+        Random random = new Random();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < pageSize + 1; i++) {
+            User user = generateUserWithRandomEmailAndCompanyId(random, companyId);
+            users.add(user);
+            underTest.save(user);
+        }
+
+        // when
+        List<User> firstPage = underTest.getAll("", Collections.emptyMap());
+        User last = firstPage.get(firstPage.size() - 1);
+        List<User> secondPage = underTest.getAll(PageCursor.encode(last.getCreated(), last.getId()),
+                Collections.emptyMap());
+
+        // then
+        Assertions.assertThat(firstPage.size()).isEqualTo(pageSize);
+        Assertions.assertThat(secondPage.size()).isEqualTo(users.size() - pageSize);
+        Assertions.assertThat(secondPage).doesNotContainAnyElementsOf(firstPage);
+
+        // clean up
+        deleteAllUsers(users);
+    }
+
+    @Test
+    public void shouldThrowInvalidCursorException() {
+        // when
+        // then
+        Assertions.assertThatThrownBy(() -> underTest.getAll("not a cursor", Collections.emptyMap()))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
     @Test
     public void canGetAllUsersFilteredByCompanyId() {
         // given
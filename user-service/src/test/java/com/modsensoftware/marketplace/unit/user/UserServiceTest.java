@@ -15,7 +15,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -76,4 +78,47 @@ public class UserServiceTest {
         // then
         BDDMockito.verify(userMapper).toResponseDto(user, company);
     }
+
+    @Test
+    public void canGetUsersByIdsWithSingleQuery() {
+        // given
+        UUID firstId = UUID.randomUUID();
+        UUID secondId = UUID.randomUUID();
+        Long companyId = 1L;
+        User first = User.builder().id(firstId).companyId(companyId).build();
+        User second = User.builder().id(secondId).companyId(companyId).build();
+        Company company = Company.builder().id(companyId).build();
+        List<UUID> ids = List.of(firstId, secondId);
+        BDDMockito.given(userDao.getAllByIds(ids)).willReturn(List.of(first, second));
+        BDDMockito.given(companyClient.getCompaniesByIds(Set.of(companyId))).willReturn(List.of(company));
+        // when
+        underTest.getUsersByIds(ids);
+        // then
+        BDDMockito.verify(userDao).getAllByIds(ids);
+        BDDMockito.verify(userMapper).toResponseDto(first, company);
+        BDDMockito.verify(userMapper).toResponseDto(second, company);
+    }
+
+    @Test
+    public void shouldResolveCompaniesOfUsersFromDifferentCompanyPages() {
+        // given
+        Long firstPageCompanyId = 1L;
+        Long laterPageCompanyId = 1000L;
+        User first = User.builder().id(UUID.randomUUID()).companyId(firstPageCompanyId).build();
+        User second = User.builder().id(UUID.randomUUID()).companyId(laterPageCompanyId).build();
+        User withoutCompany = User.builder().id(UUID.randomUUID()).build();
+        Company firstPageCompany = Company.builder().id(firstPageCompanyId).build();
+        Company laterPageCompany = Company.builder().id(laterPageCompanyId).build();
+        List<UUID> ids = List.of(first.getId(), second.getId(), withoutCompany.getId());
+        BDDMockito.given(userDao.getAllByIds(ids)).willReturn(List.of(first, second, withoutCompany));
+        BDDMockito.given(companyClient.getCompaniesByIds(Set.of(firstPageCompanyId, laterPageCompanyId)))
+                .willReturn(List.of(firstPageCompany, laterPageCompany));
+        // when
+        underTest.getUsersByIds(ids);
+        // then
+        BDDMockito.verify(companyClient).getCompaniesByIds(Set.of(firstPageCompanyId, laterPageCompanyId));
+        BDDMockito.verify(userMapper).toResponseDto(first, firstPageCompany);
+        BDDMockito.verify(userMapper).toResponseDto(second, laterPageCompany);
+        BDDMockito.verify(userMapper).toResponseDto(withoutCompany, null);
+    }
 }
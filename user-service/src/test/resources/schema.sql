@@ -17,4 +17,18 @@ create table user_service."user"
         unique (email),
     constraint user_username_key
         unique (username)
-);
\ No newline at end of file
+);
+
+create index user_created_id_idx
+    on user_service."user" (created, id);
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+create index user_email_trgm_idx
+    on user_service."user" using gin (email gin_trgm_ops);
+create index user_name_trgm_idx
+    on user_service."user" using gin (name gin_trgm_ops);
+create index user_email_pattern_idx
+    on user_service."user" (email varchar_pattern_ops);
+create index user_name_pattern_idx
+    on user_service."user" (name varchar_pattern_ops);
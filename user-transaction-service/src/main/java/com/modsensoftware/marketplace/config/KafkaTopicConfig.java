@@ -16,23 +16,26 @@ public class KafkaTopicConfig {
     private String userTransactionStatusResultsTopicName;
     @Value("${topics.transactionsPlacedForProcessing.name}")
     private String userTransactionProcessingTopicName;
-
-    private static final int PARTITIONS_COUNT = 5;
-    private static final int REPLICAS_COUNT = 1;
+    @Value("${topics.processedTransactions.partitions}")
+    private int userTransactionStatusResultsPartitions;
+    @Value("${topics.transactionsPlacedForProcessing.partitions}")
+    private int userTransactionProcessingPartitions;
+    @Value("${topics.replicas}")
+    private int replicas;
 
     @Bean
     public NewTopic userTransactionStatusResults() {
         return TopicBuilder.name(userTransactionStatusResultsTopicName)
-                .partitions(PARTITIONS_COUNT)
-                .replicas(REPLICAS_COUNT)
+                .partitions(userTransactionStatusResultsPartitions)
+                .replicas(replicas)
                 .build();
     }
 
     @Bean
     public NewTopic userTransactionProcessing() {
         return TopicBuilder.name(userTransactionProcessingTopicName)
-                .partitions(PARTITIONS_COUNT)
-                .replicas(REPLICAS_COUNT)
+                .partitions(userTransactionProcessingPartitions)
+                .replicas(replicas)
                 .build();
     }
 }
@@ -0,0 +1,37 @@
+package com.modsensoftware.marketplace.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Remote calls of the request path are executed on a separate bounded pool,
+ * so servlet threads are released while they are in flight and a slow
+ * dependency can exhaust only this pool.
+ *
+ * @author andrey.demyanchik on 1/30/2023
+ */
+@Configuration
+public class RemoteCallsExecutorConfig {
+
+    @Value("${remote-calls.executor.core-pool-size}")
+    private int corePoolSize;
+    @Value("${remote-calls.executor.max-pool-size}")
+    private int maxPoolSize;
+    @Value("${remote-calls.executor.queue-capacity}")
+    private int queueCapacity;
+
+    private static final String THREAD_NAME_PREFIX = "remote-call-";
+
+    @Bean
+    public ThreadPoolTaskExecutor remoteCallsExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(THREAD_NAME_PREFIX);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+}
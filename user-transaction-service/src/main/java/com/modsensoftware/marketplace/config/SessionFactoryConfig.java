@@ -1,15 +1,21 @@
 package com.modsensoftware.marketplace.config;
 
 import com.modsensoftware.marketplace.domain.Order;
+import com.modsensoftware.marketplace.domain.OutboxMessage;
 import com.modsensoftware.marketplace.domain.UserTransaction;
+import com.modsensoftware.marketplace.persistence.HikariPoolSettings;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import org.hibernate.SessionFactory;
 import org.hibernate.boot.Metadata;
 import org.hibernate.boot.MetadataSources;
 import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
 import org.hibernate.service.ServiceRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -18,8 +24,12 @@ import java.util.Map;
  * @author andrey.demyanchik on 11/15/2022
  */
 @Configuration
+@RequiredArgsConstructor
 public class SessionFactoryConfig {
 
+    private final Environment environment;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
     @Value("${spring.datasource.url}")
     private String url;
     @Value("${spring.datasource.username}")
@@ -32,6 +42,14 @@ public class SessionFactoryConfig {
     private String driverClassName;
     @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
     private String batchSize;
+    @Value("${spring.jpa.properties.hibernate.order_inserts}")
+    private String orderInserts;
+    @Value("${spring.jpa.properties.hibernate.order_updates}")
+    private String orderUpdates;
+    @Value("${spring.jpa.show-sql}")
+    private String showSql;
+    @Value("${spring.jpa.properties.hibernate.format_sql}")
+    private String formatSql;
 
     @Value("${exception.message.sessionFactoryInitFail}")
     private String sessionFactoryInitFailMessage;
@@ -44,9 +62,12 @@ public class SessionFactoryConfig {
         MetadataSources metadataSources = new MetadataSources(serviceRegistry);
         metadataSources.addAnnotatedClass(UserTransaction.class);
         metadataSources.addAnnotatedClass(Order.class);
+        metadataSources.addAnnotatedClass(OutboxMessage.class);
         Metadata metadata = metadataSources.buildMetadata();
         try {
-            return metadata.getSessionFactoryBuilder().build();
+            SessionFactory sessionFactory = metadata.getSessionFactoryBuilder().build();
+            meterRegistry.ifAvailable(registry -> HikariPoolSettings.registerPoolMetrics(sessionFactory, registry));
+            return sessionFactory;
         } catch (Exception e) {
             StandardServiceRegistryBuilder.destroy(serviceRegistry);
             throw new ExceptionInInitializerError(sessionFactoryInitFailMessage + e);
@@ -61,9 +82,11 @@ public class SessionFactoryConfig {
         settings.put("connection.password", password);
         settings.put("hibernate.default_schema", schemaName);
         settings.put("hibernate.jdbc.batch_size", batchSize);
+        settings.put("hibernate.order_inserts", orderInserts);
+        settings.put("hibernate.order_updates", orderUpdates);
         settings.put("dialect", "org.hibernate.dialect.PostgreSQL10Dialect");
-        settings.put("hibernate.show_sql", "true");
-        settings.put("hibernate.format_sql", "true");
+        settings.put("hibernate.show_sql", showSql);
+        settings.put("hibernate.format_sql", formatSql);
         settings.put("hbm2ddl.auto", "none");
         settings.put("hibernate.connection.provider_class", "org.hibernate.hikaricp.internal.HikariCPConnectionProvider");
         // For some reason HikariCP does not receive connection.* properties specified above
@@ -72,6 +95,7 @@ public class SessionFactoryConfig {
         settings.put("hibernate.hikari.password", password);
         settings.put("hibernate.hikari.jdbcUrl", url);
         settings.put("hibernate.hikari.driverClassName", driverClassName);
+        settings.putAll(HikariPoolSettings.poolProperties(environment));
         return settings;
     }
 }
@@ -19,6 +19,7 @@ import org.springframework.web.bind.annotation.RestController;
 import javax.validation.Valid;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static com.modsensoftware.marketplace.constants.Constants.DEFAULT_PAGE_NUMBER;
 import static com.modsensoftware.marketplace.constants.Constants.PAGE_FILTER_NAME;
@@ -38,9 +39,9 @@ public class TransactionController {
     @PreAuthorize("hasAnyRole('MANAGER')")
     @ResponseStatus(HttpStatus.CREATED)
     @PostMapping("/transactions")
-    public void createUserTransaction(@Valid @RequestBody UserTransactionRequest transactionDto) {
+    public CompletableFuture<Void> createUserTransaction(@Valid @RequestBody UserTransactionRequest transactionDto) {
         log.debug("Creating new transaction from dto: {}", transactionDto);
-        transactionService.createUserTransaction(transactionDto);
+        return transactionService.createUserTransaction(transactionDto);
     }
 
     @PreAuthorize("hasAnyRole('MANAGER')")
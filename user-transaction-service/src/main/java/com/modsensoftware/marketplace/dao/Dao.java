@@ -14,4 +14,6 @@ public interface Dao<T, ID> {
     void save(T t);
 
     void updateTransactionStatus(ID transactionId, UserTransactionStatus status);
+
+    int updateTransactionStatuses(Map<ID, UserTransactionStatus> statuses);
 }
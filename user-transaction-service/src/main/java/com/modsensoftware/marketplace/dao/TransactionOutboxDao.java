@@ -0,0 +1,85 @@
+package com.modsensoftware.marketplace.dao;
+
+import com.modsensoftware.marketplace.domain.OutboxMessage;
+import com.modsensoftware.marketplace.domain.UserTransaction;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.LockOptions;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+/**
+ * @author andrey.demyanchik on 1/30/2023
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class TransactionOutboxDao {
+
+    private final SessionFactory sessionFactory;
+
+    private static final String TRANSACTION_ENTITY_GRAPH = "graph.UserTransaction.orders.position";
+    private static final String GRAPH_TYPE = "javax.persistence.loadgraph";
+    private static final String LOCK_TIMEOUT_HINT = "javax.persistence.lock.timeout";
+
+    /**
+     * Passes user transactions of the oldest outbox messages to the publisher and removes the messages.
+     * Rows locked by other instances are skipped, so instances relay disjoint batches. If the publisher
+     * fails, the messages are kept and relayed again later.
+     *
+     * @return amount of relayed messages
+     */
+    public int relayBatch(int batchSize, Consumer<List<UserTransaction>> publisher) {
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            try {
+                CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+                CriteriaQuery<OutboxMessage> oldest = criteriaBuilder.createQuery(OutboxMessage.class);
+                Root<OutboxMessage> message = oldest.from(OutboxMessage.class);
+                oldest.select(message).orderBy(criteriaBuilder.asc(message.get(OutboxMessage.ID_FIELD_NAME)));
+                List<OutboxMessage> messages = session.createQuery(oldest)
+                        .setMaxResults(batchSize)
+                        .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                        .setHint(LOCK_TIMEOUT_HINT, LockOptions.SKIP_LOCKED)
+                        .getResultList();
+                if (messages.isEmpty()) {
+                    transaction.commit();
+                    return 0;
+                }
+                log.debug("Relaying {} outbox messages", messages.size());
+
+                List<Long> transactionIds = messages.stream()
+                        .map(OutboxMessage::getUserTransactionId)
+                        .collect(Collectors.toList());
+                CriteriaQuery<UserTransaction> getByIds = criteriaBuilder.createQuery(UserTransaction.class);
+                Root<UserTransaction> root = getByIds.from(UserTransaction.class);
+                getByIds.select(root).distinct(true).where(root.get(UserTransaction.ID_FIELD_NAME).in(transactionIds));
+                publisher.accept(session.createQuery(getByIds)
+                        .setHint(GRAPH_TYPE, session.getEntityGraph(TRANSACTION_ENTITY_GRAPH))
+                        .getResultList());
+
+                CriteriaDelete<OutboxMessage> delete = criteriaBuilder.createCriteriaDelete(OutboxMessage.class);
+                Root<OutboxMessage> relayed = delete.from(OutboxMessage.class);
+                delete.where(relayed.get(OutboxMessage.ID_FIELD_NAME).in(messages.stream()
+                        .map(OutboxMessage::getId)
+                        .collect(Collectors.toList())));
+                session.createQuery(delete).executeUpdate();
+                transaction.commit();
+                return messages.size();
+            } catch (RuntimeException e) {
+                transaction.rollback();
+                throw e;
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.modsensoftware.marketplace.dao;
 
 import com.modsensoftware.marketplace.domain.Order;
+import com.modsensoftware.marketplace.domain.OutboxMessage;
 import com.modsensoftware.marketplace.domain.UserTransaction;
 import com.modsensoftware.marketplace.domain.UserTransactionStatus;
 import lombok.RequiredArgsConstructor;
@@ -8,20 +9,23 @@ import lombok.extern.slf4j.Slf4j;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
-import org.hibernate.graph.RootGraph;
-import org.hibernate.query.Query;
+import org.hibernate.query.NativeQuery;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.StringJoiner;
 import java.util.UUID;
 
 import static com.modsensoftware.marketplace.domain.UserTransaction.CREATED_FIELD_NAME;
+import static com.modsensoftware.marketplace.domain.UserTransaction.ID_FIELD_NAME;
 import static com.modsensoftware.marketplace.domain.UserTransaction.USER_ID_FIELD_NAME;
+import static java.lang.String.format;
 
 /**
  * @author andrey.demyanchik on 11/27/2022
@@ -35,59 +39,127 @@ public class UserTransactionDao implements Dao<UserTransaction, Long> {
 
     private static final String TRANSACTION_ENTITY_GRAPH = "graph.UserTransaction.orders.position";
     private static final String GRAPH_TYPE = "javax.persistence.loadgraph";
+    private static final String ID_PARAMETER_NAME = "id";
+    private static final String STATUS_PARAMETER_NAME = "status";
+    private static final String STATUS_VALUES_ROW = "(:" + ID_PARAMETER_NAME + "%d, :" + STATUS_PARAMETER_NAME + "%d)";
+    private static final String UPDATE_STATUSES_QUERY = "UPDATE user_transaction_service.user_transaction AS t "
+            + "SET status = CAST(v.status AS user_transaction_service.transaction_status) "
+            + "FROM (VALUES %s) AS v(id, status) "
+            + "WHERE t.id = v.id AND CAST(t.status AS varchar) <> v.status";
 
     @Value("${default.page.size}")
     private int pageSize;
 
+    /**
+     * Fetches the page in two steps. Ids of the page are selected first, so the database
+     * slices the page using the (user_id, created) index. Transactions of these ids are then
+     * fetched together with their order lines with a single query.
+     */
     @Override
     public List<UserTransaction> getAll(int pageNumber, Map<String, String> filterProperties) {
         UUID userId = UUID.fromString(filterProperties.get(USER_ID_FIELD_NAME));
         log.debug("Fetching all transactions for page {} for user with id {}", pageNumber,
                 filterProperties.get(USER_ID_FIELD_NAME));
-        Session session = sessionFactory.openSession();
-        RootGraph<?> entityGraph = session.getEntityGraph(TRANSACTION_ENTITY_GRAPH);
-        CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
-        CriteriaQuery<UserTransaction> getAll = criteriaBuilder.createQuery(UserTransaction.class);
-        Root<UserTransaction> root = getAll.from(UserTransaction.class);
-
-        getAll.select(root).where(
-                criteriaBuilder.equal(root.get(USER_ID_FIELD_NAME), userId)
-        ).orderBy(
-                criteriaBuilder.desc(root.get(CREATED_FIELD_NAME))
-        );
+        try (Session session = sessionFactory.openSession()) {
+            CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+            CriteriaQuery<Long> getPageIds = criteriaBuilder.createQuery(Long.class);
+            Root<UserTransaction> pageRoot = getPageIds.from(UserTransaction.class);
+            getPageIds.select(pageRoot.get(ID_FIELD_NAME)).where(
+                    criteriaBuilder.equal(pageRoot.get(USER_ID_FIELD_NAME), userId)
+            ).orderBy(
+                    criteriaBuilder.desc(pageRoot.get(CREATED_FIELD_NAME)),
+                    criteriaBuilder.desc(pageRoot.get(ID_FIELD_NAME))
+            );
+            List<Long> pageIds = session.createQuery(getPageIds)
+                    .setFirstResult(pageSize * pageNumber)
+                    .setMaxResults(pageSize)
+                    .getResultList();
+            if (pageIds.isEmpty()) {
+                return Collections.emptyList();
+            }
 
-        Query<UserTransaction> query = session.createQuery(getAll);
-        query.setFirstResult(pageSize * pageNumber);
-        query.setMaxResults(pageSize);
-        query.setHint(GRAPH_TYPE, entityGraph);
-        List<UserTransaction> results = query.getResultList();
-        session.close();
-        return results;
+            CriteriaQuery<UserTransaction> getAll = criteriaBuilder.createQuery(UserTransaction.class);
+            Root<UserTransaction> root = getAll.from(UserTransaction.class);
+            getAll.select(root).distinct(true)
+                    .where(root.get(ID_FIELD_NAME).in(pageIds))
+                    .orderBy(
+                            criteriaBuilder.desc(root.get(CREATED_FIELD_NAME)),
+                            criteriaBuilder.desc(root.get(ID_FIELD_NAME))
+                    );
+            return session.createQuery(getAll)
+                    .setHint(GRAPH_TYPE, session.getEntityGraph(TRANSACTION_ENTITY_GRAPH))
+                    .getResultList();
+        }
     }
 
     @Override
     public void save(UserTransaction userTransaction) {
         log.debug("Saving user transaction entity: {}", userTransaction);
+        Session session = sessionFactory.openSession();
+        Transaction transaction = session.beginTransaction();
+        persist(session, userTransaction);
+        transaction.commit();
+        session.close();
+    }
+
+    /**
+     * Saves the user transaction together with the outbox message
+     * it is published for processing from.
+     */
+    public void saveForProcessing(UserTransaction userTransaction) {
+        log.debug("Saving user transaction entity for processing: {}", userTransaction);
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            persist(session, userTransaction);
+            session.persist(new OutboxMessage(null, userTransaction.getId(), userTransaction.getCreated()));
+            transaction.commit();
+        }
+    }
+
+    private void persist(Session session, UserTransaction userTransaction) {
         List<Order> orderLine = userTransaction.getOrderLine();
         userTransaction.setOrderLine(null);
         orderLine.forEach(order -> order.setUserTransaction(userTransaction));
         userTransaction.setOrderLine(orderLine);
-        Session session = sessionFactory.openSession();
-        Transaction transaction = session.beginTransaction();
         session.persist(userTransaction);
-        transaction.commit();
-        session.close();
     }
 
     @Override
     public void updateTransactionStatus(Long transactionId, UserTransactionStatus status) {
         log.info("Updating transaction with id {} to status {}", transactionId, status);
+        updateTransactionStatuses(Map.of(transactionId, status));
+    }
+
+    /**
+     * Applies all the statuses with a single UPDATE ... FROM (VALUES ...) statement.
+     * Transactions already having the provided status are not touched, so applying
+     * the same statuses again is a no-op.
+     *
+     * @return amount of transactions whose status was changed
+     */
+    @Override
+    public int updateTransactionStatuses(Map<Long, UserTransactionStatus> statuses) {
+        if (statuses.isEmpty()) {
+            return 0;
+        }
+        log.info("Updating statuses of {} transactions", statuses.size());
+        StringJoiner values = new StringJoiner(", ");
+        for (int i = 0; i < statuses.size(); i++) {
+            values.add(format(STATUS_VALUES_ROW, i, i));
+        }
         try (Session session = sessionFactory.openSession()) {
             Transaction transaction = session.beginTransaction();
-            UserTransaction userTransaction = session.find(UserTransaction.class, transactionId);
-            userTransaction.setStatus(status);
-            session.merge(userTransaction);
+            NativeQuery<?> update = session.createNativeQuery(format(UPDATE_STATUSES_QUERY, values));
+            int i = 0;
+            for (Map.Entry<Long, UserTransactionStatus> status : statuses.entrySet()) {
+                update.setParameter(ID_PARAMETER_NAME + i, status.getKey());
+                update.setParameter(STATUS_PARAMETER_NAME + i, status.getValue().name());
+                i++;
+            }
+            int updated = update.executeUpdate();
             transaction.commit();
+            log.debug("Changed statuses of {} transactions", updated);
+            return updated;
         }
     }
 }
@@ -0,0 +1,42 @@
+package com.modsensoftware.marketplace.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * User transaction waiting to be published for processing.
+ * Written in the same database transaction as the user transaction itself.
+ *
+ * @author andrey.demyanchik on 1/30/2023
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "transaction_outbox", schema = "user_transaction_service")
+public class OutboxMessage {
+
+    public static final String ID_FIELD_NAME = "id";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_outbox_id_generator")
+    @SequenceGenerator(name = "transaction_outbox_id_generator", sequenceName = "transaction_outbox_seq",
+            schema = "user_transaction_service", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_transaction_id", nullable = false)
+    private Long userTransactionId;
+
+    @Column(name = "created", nullable = false)
+    private LocalDateTime created;
+}
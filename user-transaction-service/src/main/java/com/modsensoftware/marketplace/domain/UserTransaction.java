@@ -18,6 +18,7 @@ import javax.persistence.Id;
 import javax.persistence.NamedAttributeNode;
 import javax.persistence.NamedEntityGraph;
 import javax.persistence.OneToMany;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -41,11 +42,14 @@ import java.util.UUID;
 )
 public class UserTransaction {
 
+    public static final String ID_FIELD_NAME = "id";
     public static final String USER_ID_FIELD_NAME = "userId";
     public static final String CREATED_FIELD_NAME = "created";
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_transaction_id_generator")
+    @SequenceGenerator(name = "user_transaction_id_generator", sequenceName = "user_transaction_seq",
+            schema = "user_transaction_service", allocationSize = 50)
     private Long id;
 
     @Column(name = "user_id", nullable = false)
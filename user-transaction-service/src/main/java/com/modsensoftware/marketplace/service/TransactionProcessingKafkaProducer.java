@@ -2,10 +2,15 @@ package com.modsensoftware.marketplace.service;
 
 import com.modsensoftware.marketplace.dto.PlacedUserTransaction;
 
+import java.util.List;
+
 /**
  * @author andrey.demyanchik on 12/28/2022
  */
 public interface TransactionProcessingKafkaProducer {
 
-    void publishUserTransactionProcessing(PlacedUserTransaction placedUserTransaction);
+    /**
+     * Blocks until all the transactions are acknowledged by the broker.
+     */
+    void publishUserTransactionsProcessing(List<PlacedUserTransaction> placedUserTransactions);
 }
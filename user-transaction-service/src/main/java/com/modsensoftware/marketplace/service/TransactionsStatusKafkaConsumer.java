@@ -2,10 +2,14 @@ package com.modsensoftware.marketplace.service;
 
 import com.modsensoftware.marketplace.dto.PlacedUserTransaction;
 
+import java.util.List;
+
 /**
  * @author andrey.demyanchik on 12/28/2022
  */
 public interface TransactionsStatusKafkaConsumer {
 
     void consumeTransactionStatus(PlacedUserTransaction placedUserTransaction);
+
+    void consumeTransactionStatuses(List<PlacedUserTransaction> placedUserTransactions);
 }
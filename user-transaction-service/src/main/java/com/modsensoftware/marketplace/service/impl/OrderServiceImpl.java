@@ -2,6 +2,7 @@ package com.modsensoftware.marketplace.service.impl;
 
 import com.modsensoftware.marketplace.dto.request.OrderRequest;
 import com.modsensoftware.marketplace.dto.response.PositionResponse;
+import com.modsensoftware.marketplace.exception.EntityNotFoundException;
 import com.modsensoftware.marketplace.exception.InsufficientItemsInStockException;
 import com.modsensoftware.marketplace.exception.InsufficientOrderAmountException;
 import com.modsensoftware.marketplace.service.OrderService;
@@ -11,6 +12,9 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static java.lang.String.format;
 
@@ -28,13 +32,25 @@ public class OrderServiceImpl implements OrderService {
     private String insufficientItemsInStockMessage;
     @Value("${exception.message.insufficientOrderAmount}")
     private String insufficientOrderAmountMessage;
+    @Value("${exception.message.positionNotFound}")
+    private String positionNotFoundMessage;
 
     @Override
     public void validateOrders(Collection<OrderRequest> orders) {
         log.debug("Validating orders: {}", orders);
+        // Positions of the whole order line are fetched with a single request
+        Map<String, PositionResponse> positions = positionClient.getPositionsByIds(orders.stream()
+                        .map(OrderRequest::getPositionId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(PositionResponse::getId, Function.identity()));
         orders.forEach(orderDto -> {
             log.debug("Validating order: {}", orderDto);
-            PositionResponse position = positionClient.getPositionById(orderDto.getPositionId());
+            PositionResponse position = positions.get(orderDto.getPositionId());
+            if (position == null) {
+                log.error("Position with id {} is not found", orderDto.getPositionId());
+                throw new EntityNotFoundException(format(positionNotFoundMessage, orderDto.getPositionId()));
+            }
             if (position.getAmount() < orderDto.getAmount().doubleValue()) {
                 log.error("Wanted amount is bigger than position with id {} has in stock", position.getId());
                 log.debug("Wanted amount: {}. Currently in stock: {}",
@@ -6,6 +6,10 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * @author andrey.demyanchik on 12/27/2022
@@ -20,4 +24,7 @@ public interface PositionClient {
 
     @RequestMapping(value = "/{id}", method = RequestMethod.GET)
     PositionResponse getPositionById(@PathVariable(name = "id") String id);
+
+    @RequestMapping(method = RequestMethod.GET)
+    List<PositionResponse> getPositionsByIds(@RequestParam(name = "ids") Collection<String> ids);
 }
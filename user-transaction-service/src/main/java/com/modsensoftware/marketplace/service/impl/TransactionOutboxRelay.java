@@ -0,0 +1,50 @@
+package com.modsensoftware.marketplace.service.impl;
+
+import com.modsensoftware.marketplace.dao.TransactionOutboxDao;
+import com.modsensoftware.marketplace.dto.mapper.UserTransactionMapper;
+import com.modsensoftware.marketplace.service.TransactionProcessingKafkaProducer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Collectors;
+
+/**
+ * Publishes user transactions saved for processing. Transactions are delivered
+ * at least once: if the service stops after publishing a batch, but before
+ * removing its outbox messages, the batch is published again. Position service
+ * stores ids of processed transactions with the decreased amounts, so a transaction
+ * published again does not decrease them twice.
+ *
+ * @author andrey.demyanchik on 1/30/2023
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class TransactionOutboxRelay {
+
+    private final TransactionOutboxDao outboxDao;
+    private final TransactionProcessingKafkaProducer producer;
+    private final UserTransactionMapper transactionMapper = Mappers.getMapper(UserTransactionMapper.class);
+
+    @Value("${outbox.relay.batch-size}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${outbox.relay.fixed-delay-ms}")
+    public void relay() {
+        try {
+            int relayed;
+            do {
+                relayed = outboxDao.relayBatch(batchSize, transactions -> producer.publishUserTransactionsProcessing(
+                        transactions.stream()
+                                .map(transactionMapper::toPlacedUserTransaction)
+                                .collect(Collectors.toList())));
+            } while (relayed == batchSize);
+        } catch (RuntimeException e) {
+            log.error("Failed to relay user transactions for processing. Retrying on the next run", e);
+        }
+    }
+}
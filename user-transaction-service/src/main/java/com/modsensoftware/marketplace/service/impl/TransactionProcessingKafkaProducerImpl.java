@@ -1,15 +1,21 @@
 package com.modsensoftware.marketplace.service.impl;
 
 import com.modsensoftware.marketplace.dto.PlacedUserTransaction;
+import com.modsensoftware.marketplace.dto.request.OrderRequest;
 import com.modsensoftware.marketplace.service.TransactionProcessingKafkaProducer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.KafkaException;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
-import org.springframework.util.concurrent.ListenableFuture;
-import org.springframework.util.concurrent.ListenableFutureCallback;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * @author andrey.demyanchik on 12/28/2022
@@ -23,23 +29,39 @@ public class TransactionProcessingKafkaProducerImpl implements TransactionProces
 
     @Value("${topics.transactionsPlacedForProcessing.name}")
     private String processingTopicName;
+    @Value("${outbox.relay.send-timeout-ms}")
+    private long sendTimeoutMs;
 
     @Override
-    public void publishUserTransactionProcessing(PlacedUserTransaction placedUserTransaction) {
-        log.info("Publishing user transaction for processing: {}", placedUserTransaction);
-        ListenableFuture<SendResult<String, PlacedUserTransaction>> future
-                = kafkaTemplate.send(processingTopicName, placedUserTransaction);
-        future.addCallback(new ListenableFutureCallback<>() {
-            @Override
-            public void onFailure(Throwable ex) {
-                log.error("Failed to send transaction", ex);
-            }
+    public void publishUserTransactionsProcessing(List<PlacedUserTransaction> placedUserTransactions) {
+        log.info("Publishing {} user transactions for processing", placedUserTransactions.size());
+        // Records are sent without waiting for each other, so the producer batches them
+        CompletableFuture<?>[] sent = placedUserTransactions.stream()
+                .map(placedUserTransaction -> kafkaTemplate.send(processingTopicName,
+                                positionShardKey(placedUserTransaction), placedUserTransaction).completable()
+                        .thenAccept(result -> log.debug("Sent transaction: {} with offset: {}",
+                                placedUserTransaction, result.getRecordMetadata().offset())))
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(sent).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KafkaException("Interrupted while publishing user transactions for processing", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new KafkaException("Failed to publish user transactions for processing", e);
+        }
+    }
 
-            @Override
-            public void onSuccess(SendResult<String, PlacedUserTransaction> result) {
-                log.info("Sent transaction: {} with offset: {}",
-                        placedUserTransaction, result.getRecordMetadata().offset());
-            }
-        });
+    /**
+     * Transactions are keyed by the least id of their ordered positions. Transactions with the same
+     * least position id land in the same partition, which only reduces contention for stock: transactions
+     * sharing other positions (e.g. {A, B} and {B}) may still be processed concurrently by different
+     * consumers. Correctness relies on the conditional decrease of amounts in position service.
+     */
+    private String positionShardKey(PlacedUserTransaction placedUserTransaction) {
+        return placedUserTransaction.getOrderLine().stream()
+                .map(OrderRequest::getPositionId)
+                .min(Comparator.naturalOrder())
+                .orElse(String.valueOf(placedUserTransaction.getId()));
     }
 }
@@ -1,6 +1,7 @@
 package com.modsensoftware.marketplace.service.impl;
 
 import com.modsensoftware.marketplace.dao.UserTransactionDao;
+import com.modsensoftware.marketplace.domain.UserTransactionStatus;
 import com.modsensoftware.marketplace.dto.PlacedUserTransaction;
 import com.modsensoftware.marketplace.service.TransactionsStatusKafkaConsumer;
 import lombok.RequiredArgsConstructor;
@@ -8,6 +9,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * @author andrey.demyanchik on 12/28/2022
  */
@@ -18,10 +23,26 @@ public class TransactionStatusKafkaConsumerImpl implements TransactionsStatusKaf
 
     private final UserTransactionDao transactionDao;
 
-    @KafkaListener(topics = "${topics.processedTransactions.name}", groupId = "${topics.processedTransactions.groupId}")
     @Override
     public void consumeTransactionStatus(PlacedUserTransaction placedUserTransaction) {
-        log.info("Consumed the result of processing of the transaction: {}", placedUserTransaction);
-        transactionDao.updateTransactionStatus(placedUserTransaction.getId(), placedUserTransaction.getStatus());
+        consumeTransactionStatuses(List.of(placedUserTransaction));
+    }
+
+    /**
+     * Applies statuses of the whole poll with a single statement. If several statuses
+     * of the same transaction were polled, the last one wins. Statuses are keyed by
+     * transaction id, so statuses of a transaction are always polled by the same consumer.
+     */
+    @KafkaListener(topics = "${topics.processedTransactions.name}", groupId = "${topics.processedTransactions.groupId}",
+            batch = "true", concurrency = "${topics.processedTransactions.concurrency}")
+    @Override
+    public void consumeTransactionStatuses(List<PlacedUserTransaction> placedUserTransactions) {
+        log.info("Consumed the results of processing of {} transactions", placedUserTransactions.size());
+        Map<Long, UserTransactionStatus> statuses = new LinkedHashMap<>();
+        placedUserTransactions.forEach(placedUserTransaction -> {
+            log.debug("Consumed the result of processing of the transaction: {}", placedUserTransaction);
+            statuses.put(placedUserTransaction.getId(), placedUserTransaction.getStatus());
+        });
+        transactionDao.updateTransactionStatuses(statuses);
     }
 }
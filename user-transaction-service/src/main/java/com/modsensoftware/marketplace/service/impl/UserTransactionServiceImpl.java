@@ -5,17 +5,18 @@ import com.modsensoftware.marketplace.domain.UserTransaction;
 import com.modsensoftware.marketplace.dto.request.UserTransactionRequest;
 import com.modsensoftware.marketplace.dto.mapper.UserTransactionMapper;
 import com.modsensoftware.marketplace.service.OrderService;
-import com.modsensoftware.marketplace.service.TransactionProcessingKafkaProducer;
 import com.modsensoftware.marketplace.service.UserTransactionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.mapstruct.factory.Mappers;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static com.modsensoftware.marketplace.domain.UserTransactionStatus.IN_PROGRESS;
 
@@ -31,25 +32,30 @@ public class UserTransactionServiceImpl implements UserTransactionService {
     private final UserTransactionDao transactionDao;
     private final UserTransactionMapper transactionMapper = Mappers.getMapper(UserTransactionMapper.class);
     private final OrderService orderService;
-    private final TransactionProcessingKafkaProducer producer;
+    private final ThreadPoolTaskExecutor remoteCallsExecutor;
 
     @Override
-    public void createUserTransaction(UserTransactionRequest transactionDto) {
-        // If user doesn't exist EntityNotFoundException will be thrown
-        // and caught by feign ErrorHandler
-        userClient.getUserById(transactionDto.getUserId());
+    public CompletableFuture<Void> createUserTransaction(UserTransactionRequest transactionDto) {
         log.debug("Creating new transaction from dto: {}", transactionDto);
+        // User and positions are fetched concurrently. If user doesn't exist
+        // EntityNotFoundException will be thrown by feign ErrorHandler,
+        // if validation fails, exception will be thrown and caught by ExceptionHandler
+        CompletableFuture<Void> userLookup = CompletableFuture.runAsync(
+                () -> userClient.getUserById(transactionDto.getUserId()), remoteCallsExecutor);
+        CompletableFuture<Void> ordersValidation = CompletableFuture.runAsync(
+                () -> orderService.validateOrders(transactionDto.getOrderLine()), remoteCallsExecutor);
+        return CompletableFuture.allOf(userLookup, ordersValidation)
+                .thenRunAsync(() -> saveForProcessing(transactionDto), remoteCallsExecutor);
+    }
 
-        // If validation fails, exception will be thrown and caught by ExceptionHandler
-        orderService.validateOrders(transactionDto.getOrderLine());
-
+    private void saveForProcessing(UserTransactionRequest transactionDto) {
         UserTransaction userTransaction = transactionMapper.toUserTransaction(transactionDto);
         userTransaction.setCreated(LocalDateTime.now());
         log.debug("Mapping result: {}", userTransaction);
         log.info("Setting status of the transaction to {}", IN_PROGRESS);
         userTransaction.setStatus(IN_PROGRESS);
-        transactionDao.save(userTransaction);
-        producer.publishUserTransactionProcessing(transactionMapper.toPlacedUserTransaction(userTransaction));
+        // Published for processing by TransactionOutboxRelay
+        transactionDao.saveForProcessing(userTransaction);
     }
 
     @Override
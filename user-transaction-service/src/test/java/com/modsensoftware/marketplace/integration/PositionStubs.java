@@ -7,6 +7,8 @@ import org.springframework.http.MediaType;
 import org.springframework.util.StreamUtils;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import static java.lang.String.format;
 import static java.nio.charset.Charset.defaultCharset;
@@ -16,19 +18,20 @@ import static java.nio.charset.Charset.defaultCharset;
  */
 public class PositionStubs {
 
-    public static void setupGetPositionById(WireMockServer mockServer, String positionId) throws IOException {
-        mockServer.stubFor(WireMock.get(WireMock.urlEqualTo("/api/v1/positions/" + positionId))
+    public static void setupGetPositionsByIds(WireMockServer mockServer, String... positionIds) throws IOException {
+        List<String> positions = new ArrayList<>();
+        for (String positionId : positionIds) {
+            positions.add(StreamUtils.copyToString(
+                    PositionStubs.class.getClassLoader()
+                            .getResourceAsStream(format("stubs/get-position-%s-response.json", positionId)),
+                    defaultCharset()));
+        }
+        mockServer.stubFor(WireMock.get(WireMock.urlPathEqualTo("/api/v1/positions"))
                 .willReturn(
                         WireMock.aResponse()
                                 .withStatus(HttpStatus.OK.value())
                                 .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
-                                .withBody((StreamUtils.copyToString(
-                                        PositionStubs.class.getClassLoader()
-                                                .getResourceAsStream(
-                                                        format("stubs/get-position-%s-response.json", positionId)
-                                                ),
-                                        defaultCharset())
-                                ))
+                                .withBody("[" + String.join(",", positions) + "]")
                 ));
     }
 }
@@ -100,8 +100,8 @@ public class TransactionControllerIntegrationTest extends AbstractIntegrationTes
         // given
         UserStubs.setupGetUserById(wireMockServer3, "b273ba0f-3b83-4cd4-a8bc-d44e5067ce6d");
         UserStubs.setupGetUserById(wireMockServer4, "b273ba0f-3b83-4cd4-a8bc-d44e5067ce6d");
-        PositionStubs.setupGetPositionById(wireMockServer1, "999");
-        PositionStubs.setupGetPositionById(wireMockServer2, "999");
+        PositionStubs.setupGetPositionsByIds(wireMockServer1, "999");
+        PositionStubs.setupGetPositionsByIds(wireMockServer2, "999");
 
         String payload = "{\n"
                 + "    \"userId\": \"b273ba0f-3b83-4cd4-a8bc-d44e5067ce6d\",\n"
@@ -142,12 +142,12 @@ public class TransactionControllerIntegrationTest extends AbstractIntegrationTes
     }
 
     @Test
-    public void shouldLoadBalanceFeignGetPositionAndUser() throws IOException {
+    public void shouldLoadBalanceFeignGetPositionsAndUser() throws IOException {
         // given
         UserStubs.setupGetUserById(wireMockServer3, "b273ba0f-3b83-4cd4-a8bc-d44e5067ce6d");
         UserStubs.setupGetUserById(wireMockServer4, "b273ba0f-3b83-4cd4-a8bc-d44e5067ce6d");
-        PositionStubs.setupGetPositionById(wireMockServer1, "999");
-        PositionStubs.setupGetPositionById(wireMockServer2, "999");
+        PositionStubs.setupGetPositionsByIds(wireMockServer1, "999");
+        PositionStubs.setupGetPositionsByIds(wireMockServer2, "999");
         String payload = "{\n"
                 + "    \"userId\": \"b273ba0f-3b83-4cd4-a8bc-d44e5067ce6d\",\n"
                 + "    \"orderLine\":\n"
@@ -176,9 +176,9 @@ public class TransactionControllerIntegrationTest extends AbstractIntegrationTes
         wireMockServer4.verify(WireMock.moreThan(0),
                 WireMock.getRequestedFor(WireMock.urlEqualTo("/api/v1/users/b273ba0f-3b83-4cd4-a8bc-d44e5067ce6d")));
         wireMockServer1.verify(WireMock.moreThan(0),
-                WireMock.getRequestedFor(WireMock.urlEqualTo("/api/v1/positions/999")));
+                WireMock.getRequestedFor(WireMock.urlEqualTo("/api/v1/positions?ids=999")));
         wireMockServer2.verify(WireMock.moreThan(0),
-                WireMock.getRequestedFor(WireMock.urlEqualTo("/api/v1/positions/999")));
+                WireMock.getRequestedFor(WireMock.urlEqualTo("/api/v1/positions?ids=999")));
     }
 
     @Order(2)
@@ -190,8 +190,8 @@ public class TransactionControllerIntegrationTest extends AbstractIntegrationTes
         // given
         UserStubs.setupGetUserById(wireMockServer3, "b273ba0f-3b83-4cd4-a8bc-d44e5067ce6d");
         UserStubs.setupGetUserById(wireMockServer4, "b273ba0f-3b83-4cd4-a8bc-d44e5067ce6d");
-        PositionStubs.setupGetPositionById(wireMockServer1, "999");
-        PositionStubs.setupGetPositionById(wireMockServer2, "999");
+        PositionStubs.setupGetPositionsByIds(wireMockServer1, "999");
+        PositionStubs.setupGetPositionsByIds(wireMockServer2, "999");
         String invalidPayload = format("{\n"
                 + "    \"userId\": \"b273ba0f-3b83-4cd4-a8bc-d44e5067ce6d\",\n"
                 + "    \"orderLine\":\n"
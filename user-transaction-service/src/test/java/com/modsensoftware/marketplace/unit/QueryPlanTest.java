@@ -0,0 +1,62 @@
+package com.modsensoftware.marketplace.unit;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+/**
+ * Verifies that hot queries of the DAOs are served by indexes. Sequential scans
+ * are disabled for the planner, so it falls back to them only if no index can
+ * serve the query.
+ *
+ * @author andrey.demyanchik on 1/30/2023
+ */
+public class QueryPlanTest extends AbstractDaoTest {
+
+    private static final String SEQUENTIAL_SCAN_NODE = "Seq Scan";
+    private static final String SORT_NODE = "Sort";
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "SELECT id FROM user_transaction_service.user_transaction "
+                    + "WHERE user_id = 'b273ba0f-3b83-4cd4-a8bc-d44e5067ce6d' ORDER BY created DESC, id DESC LIMIT 20 OFFSET 20",
+            "SELECT * FROM user_transaction_service.\"order\" WHERE user_transaction_id IN (1, 2, 3)",
+            "SELECT * FROM user_transaction_service.user_transaction WHERE id IN (1, 2, 3)",
+            "SELECT * FROM user_transaction_service.transaction_outbox ORDER BY id LIMIT 100"
+    })
+    public void hotQueryShouldNotScanWholeTable(String hotQuery) {
+        // when
+        List<String> plan = explain(hotQuery);
+
+        // then
+        Assertions.assertThat(plan).noneMatch(planNode -> planNode.contains(SEQUENTIAL_SCAN_NODE));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "SELECT id FROM user_transaction_service.user_transaction "
+                    + "WHERE user_id = 'b273ba0f-3b83-4cd4-a8bc-d44e5067ce6d' ORDER BY created DESC, id DESC LIMIT 20 OFFSET 20"
+    })
+    public void pageQueryShouldReadRowsInIndexOrder(String pageQuery) {
+        // when
+        List<String> plan = explain(pageQuery);
+
+        // then
+        Assertions.assertThat(plan).noneMatch(planNode -> planNode.contains(SORT_NODE));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> explain(String query) {
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            session.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+            List<String> plan = session.createNativeQuery("EXPLAIN " + query).getResultList();
+            transaction.rollback();
+            return plan;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.modsensoftware.marketplace.dto.response.CompanyResponse;
 import com.modsensoftware.marketplace.dto.response.ItemResponse;
 import com.modsensoftware.marketplace.dto.response.PositionResponse;
 import com.modsensoftware.marketplace.dto.response.UserResponse;
+import com.modsensoftware.marketplace.exception.EntityNotFoundException;
 import com.modsensoftware.marketplace.exception.InsufficientItemsInStockException;
 import com.modsensoftware.marketplace.exception.InsufficientOrderAmountException;
 import com.modsensoftware.marketplace.service.OrderService;
@@ -22,6 +23,7 @@ import org.springframework.test.util.ReflectionTestUtils;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static java.lang.String.format;
@@ -41,12 +43,14 @@ public class OrderServiceTest {
             = "Not enough items in stock for position with id=%s. Wanted amount=%s. Currently in stock=%s";
     private static final String INSUFFICIENT_ORDER_AMOUNT_MESSAGE
             = "Wanted amount=%s is less than position's(id=%s) minimum amount=%s";
+    private static final String POSITION_NOT_FOUND_MESSAGE = "Position entity with id=%s is not found.";
 
     @BeforeEach
     void setUp() {
         underTest = new OrderServiceImpl(positionClient);
         ReflectionTestUtils.setField(underTest, "insufficientItemsInStockMessage", INSUFFICIENT_ITEMS_IN_STOCK_MESSAGE);
         ReflectionTestUtils.setField(underTest, "insufficientOrderAmountMessage", INSUFFICIENT_ORDER_AMOUNT_MESSAGE);
+        ReflectionTestUtils.setField(underTest, "positionNotFoundMessage", POSITION_NOT_FOUND_MESSAGE);
     }
 
     @Test
@@ -67,8 +71,7 @@ public class OrderServiceTest {
         List<OrderRequest> orders = new ArrayList<>();
         orders.add(new OrderRequest("15", new BigDecimal(5)));
         orders.add(new OrderRequest("16", new BigDecimal(2)));
-        BDDMockito.when(positionClient.getPositionById("15")).thenReturn(pos1);
-        BDDMockito.when(positionClient.getPositionById("16")).thenReturn(pos2);
+        BDDMockito.when(positionClient.getPositionsByIds(Set.of("15", "16"))).thenReturn(List.of(pos1, pos2));
 
         // when
         // then
@@ -82,7 +85,7 @@ public class OrderServiceTest {
                 .id("16").amount(3d).minAmount(1d).build();
         List<OrderRequest> orders = new ArrayList<>();
         orders.add(new OrderRequest("16", new BigDecimal(4)));
-        BDDMockito.when(positionClient.getPositionById("16")).thenReturn(pos);
+        BDDMockito.when(positionClient.getPositionsByIds(Set.of("16"))).thenReturn(List.of(pos));
 
         // when
         // then
@@ -99,7 +102,7 @@ public class OrderServiceTest {
                 .id("16").amount(30d).minAmount(5d).build();
         List<OrderRequest> orders = new ArrayList<>();
         orders.add(new OrderRequest("16", new BigDecimal(4)));
-        BDDMockito.when(positionClient.getPositionById("16")).thenReturn(pos);
+        BDDMockito.when(positionClient.getPositionsByIds(Set.of("16"))).thenReturn(List.of(pos));
 
         // when
         // then
@@ -108,4 +111,21 @@ public class OrderServiceTest {
                 .hasMessage(format(INSUFFICIENT_ORDER_AMOUNT_MESSAGE, orders.get(0).getAmount(),
                         pos.getId(), pos.getMinAmount()));
     }
+
+    @Test
+    public void shouldThrowEntityNotFoundExceptionIfPositionIsAbsent() {
+        // given
+        PositionResponse pos = PositionResponse.builder()
+                .id("15").amount(30d).minAmount(1d).build();
+        List<OrderRequest> orders = new ArrayList<>();
+        orders.add(new OrderRequest("15", new BigDecimal(4)));
+        orders.add(new OrderRequest("16", new BigDecimal(4)));
+        BDDMockito.when(positionClient.getPositionsByIds(Set.of("15", "16"))).thenReturn(List.of(pos));
+
+        // when
+        // then
+        Assertions.assertThatThrownBy(() -> underTest.validateOrders(orders))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage(format(POSITION_NOT_FOUND_MESSAGE, "16"));
+    }
 }
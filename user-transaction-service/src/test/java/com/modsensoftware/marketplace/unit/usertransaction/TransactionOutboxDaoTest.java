@@ -0,0 +1,91 @@
+package com.modsensoftware.marketplace.unit.usertransaction;
+
+import com.modsensoftware.marketplace.dao.TransactionOutboxDao;
+import com.modsensoftware.marketplace.dao.UserTransactionDao;
+import com.modsensoftware.marketplace.domain.Order;
+import com.modsensoftware.marketplace.domain.UserTransaction;
+import com.modsensoftware.marketplace.domain.UserTransactionStatus;
+import com.modsensoftware.marketplace.service.impl.TransactionOutboxRelay;
+import com.modsensoftware.marketplace.unit.AbstractDaoTest;
+import org.assertj.core.api.Assertions;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static java.time.LocalDateTime.now;
+import static java.time.temporal.ChronoUnit.SECONDS;
+
+/**
+ * @author andrey.demyanchik on 1/30/2023
+ */
+public class TransactionOutboxDaoTest extends AbstractDaoTest {
+
+    // Keeps the scheduled relay from taking the messages before the tests do
+    @MockBean
+    private TransactionOutboxRelay transactionOutboxRelay;
+
+    @Autowired
+    private TransactionOutboxDao underTest;
+    @Autowired
+    private UserTransactionDao userTransactionDao;
+
+    @Test
+    public void shouldRelayTransactionSavedForProcessingOnce() {
+        // given
+        UserTransaction userTransaction = generateUserTransaction();
+        userTransactionDao.saveForProcessing(userTransaction);
+        List<UserTransaction> published = new ArrayList<>();
+
+        // when
+        int relayed = underTest.relayBatch(10, published::addAll);
+        int relayedAgain = underTest.relayBatch(10, published::addAll);
+
+        // then
+        Assertions.assertThat(relayed).isEqualTo(1);
+        Assertions.assertThat(relayedAgain).isZero();
+        Assertions.assertThat(published).hasSize(1);
+        Assertions.assertThat(published.get(0).getId()).isEqualTo(userTransaction.getId());
+        Assertions.assertThat(published.get(0).getOrderLine()).hasSize(1);
+
+        // clean up
+        deleteUserTransaction(userTransaction);
+    }
+
+    @Test
+    public void shouldKeepMessagesIfPublishingFails() {
+        // given
+        UserTransaction userTransaction = generateUserTransaction();
+        userTransactionDao.saveForProcessing(userTransaction);
+
+        // when
+        Assertions.assertThatThrownBy(() -> underTest.relayBatch(10, transactions -> {
+            throw new IllegalStateException("Broker is not available");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // then
+        Assertions.assertThat(underTest.relayBatch(10, transactions -> { })).isEqualTo(1);
+
+        // clean up
+        deleteUserTransaction(userTransaction);
+    }
+
+    private UserTransaction generateUserTransaction() {
+        return new UserTransaction(null, UUID.randomUUID(), now().truncatedTo(SECONDS), UserTransactionStatus.IN_PROGRESS,
+                List.of(new Order(null, 5d, "1", null)));
+    }
+
+    private void deleteUserTransaction(UserTransaction userTransaction) {
+        Session session = sessionFactory.openSession();
+        Transaction transaction = session.beginTransaction();
+        userTransaction.getOrderLine().forEach(session::delete);
+        session.delete(userTransaction);
+        transaction.commit();
+        session.close();
+    }
+}
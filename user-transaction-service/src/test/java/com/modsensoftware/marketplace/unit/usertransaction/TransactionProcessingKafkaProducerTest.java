@@ -0,0 +1,70 @@
+package com.modsensoftware.marketplace.unit.usertransaction;
+
+import com.modsensoftware.marketplace.domain.UserTransactionStatus;
+import com.modsensoftware.marketplace.dto.PlacedUserTransaction;
+import com.modsensoftware.marketplace.dto.request.OrderRequest;
+import com.modsensoftware.marketplace.service.TransactionProcessingKafkaProducer;
+import com.modsensoftware.marketplace.service.impl.TransactionProcessingKafkaProducerImpl;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * @author andrey.demyanchik on 1/30/2023
+ */
+@ExtendWith(MockitoExtension.class)
+public class TransactionProcessingKafkaProducerTest {
+
+    @Mock
+    private KafkaTemplate<String, PlacedUserTransaction> kafkaTemplate;
+
+    private TransactionProcessingKafkaProducer underTest;
+
+    private static final String TOPIC_NAME = "userTransactionProcessingTest";
+
+    @BeforeEach
+    void setUp() {
+        underTest = new TransactionProcessingKafkaProducerImpl(kafkaTemplate);
+        ReflectionTestUtils.setField(underTest, "processingTopicName", TOPIC_NAME);
+        ReflectionTestUtils.setField(underTest, "sendTimeoutMs", 1000L);
+    }
+
+    @Test
+    public void shouldKeyTransactionsByLeastOrderedPositionId() {
+        // given
+        PlacedUserTransaction first = new PlacedUserTransaction(1L, UserTransactionStatus.IN_PROGRESS, List.of(
+                new OrderRequest("b", new BigDecimal("1")), new OrderRequest("a", new BigDecimal("2"))));
+        PlacedUserTransaction second = new PlacedUserTransaction(2L, UserTransactionStatus.IN_PROGRESS, List.of(
+                new OrderRequest("a", new BigDecimal("3"))));
+        BDDMockito.given(kafkaTemplate.send(BDDMockito.eq(TOPIC_NAME), BDDMockito.anyString(), BDDMockito.any()))
+                .willAnswer(invocation -> sent(invocation.getArgument(1), invocation.getArgument(2)));
+
+        // when
+        underTest.publishUserTransactionsProcessing(List.of(first, second));
+
+        // then
+        BDDMockito.verify(kafkaTemplate).send(TOPIC_NAME, "a", first);
+        BDDMockito.verify(kafkaTemplate).send(TOPIC_NAME, "a", second);
+    }
+
+    private SettableListenableFuture<SendResult<String, PlacedUserTransaction>> sent(
+            String key, PlacedUserTransaction placedUserTransaction) {
+        SettableListenableFuture<SendResult<String, PlacedUserTransaction>> future = new SettableListenableFuture<>();
+        future.set(new SendResult<>(new ProducerRecord<>(TOPIC_NAME, key, placedUserTransaction),
+                new RecordMetadata(new TopicPartition(TOPIC_NAME, 0), 0L, 0, 0L, 0, 0)));
+        return future;
+    }
+}
@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static java.time.LocalDateTime.now;
 import static java.time.temporal.ChronoUnit.SECONDS;
@@ -81,6 +82,64 @@ public class UserTransactionDaoTest extends AbstractDaoTest {
         userTransactions.forEach(this::deleteUserTransaction);
     }
 
+    @Test
+    public void shouldPaginateTransactionsNotOrdersAndFetchWholeOrderLines() {
+        // given
+        UUID userId = UUID.randomUUID();
+        List<UserTransaction> userTransactions = new ArrayList<>();
+        for (int i = 0; i < pageSize + 1; i++) {
+            UserTransaction userTransaction = new UserTransaction(null, userId, now().truncatedTo(SECONDS).minusMinutes(i),
+                    UserTransactionStatus.IN_PROGRESS, List.of(new Order(null, 5d, "1", null), new Order(null, 5d, "2", null)));
+            underTest.save(userTransaction);
+            userTransactions.add(userTransaction);
+        }
+        Map<String, String> filterProps = Map.of("userId", userId.toString());
+
+        // when
+        List<UserTransaction> firstPage = underTest.getAll(0, filterProps);
+        List<UserTransaction> secondPage = underTest.getAll(1, filterProps);
+
+        // then
+        Assertions.assertThat(firstPage).extracting(UserTransaction::getId)
+                .containsExactlyElementsOf(userTransactions.subList(0, pageSize).stream()
+                        .map(UserTransaction::getId).collect(Collectors.toList()));
+        firstPage.forEach(transaction -> Assertions.assertThat(transaction.getOrderLine()).hasSize(2));
+        Assertions.assertThat(secondPage).extracting(UserTransaction::getId)
+                .containsExactly(userTransactions.get(pageSize).getId());
+
+        // clean up
+        userTransactions.forEach(this::deleteUserTransaction);
+    }
+
+    @Test
+    public void canUpdateStatusesOfSeveralTransactionsAtOnce() {
+        // given
+        UserTransaction first = generateUserTransaction(UUID.randomUUID(), "1");
+        UserTransaction second = generateUserTransaction(UUID.randomUUID(), "1");
+        UserTransaction unchanged = generateUserTransaction(UUID.randomUUID(), "1");
+        List.of(first, second, unchanged).forEach(underTest::save);
+        Map<Long, UserTransactionStatus> statuses = Map.of(
+                first.getId(), UserTransactionStatus.SUCCESS,
+                second.getId(), UserTransactionStatus.REJECTED,
+                unchanged.getId(), UserTransactionStatus.IN_PROGRESS
+        );
+
+        // when
+        int updated = underTest.updateTransactionStatuses(statuses);
+        int updatedAgain = underTest.updateTransactionStatuses(statuses);
+
+        // then
+        Assertions.assertThat(updated).isEqualTo(2);
+        Assertions.assertThat(updatedAgain).isZero();
+        try (Session session = sessionFactory.openSession()) {
+            statuses.forEach((id, status) -> Assertions.assertThat(session.find(UserTransaction.class, id).getStatus())
+                    .isEqualTo(status));
+        }
+
+        // clean up
+        List.of(first, second, unchanged).forEach(this::deleteUserTransaction);
+    }
+
     private UserResponse generateUser(String email, String username, CompanyResponse company) {
         return new UserResponse(UUID.randomUUID(), username, email, "full name",
                 now().truncatedTo(SECONDS), now().truncatedTo(SECONDS), company);
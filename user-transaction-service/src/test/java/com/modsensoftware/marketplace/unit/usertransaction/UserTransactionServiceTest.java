@@ -7,12 +7,13 @@ import com.modsensoftware.marketplace.dto.mapper.UserTransactionMapper;
 import com.modsensoftware.marketplace.dto.request.OrderRequest;
 import com.modsensoftware.marketplace.dto.request.UserTransactionRequest;
 import com.modsensoftware.marketplace.dto.response.UserResponse;
+import com.modsensoftware.marketplace.exception.EntityNotFoundException;
 import com.modsensoftware.marketplace.service.OrderService;
-import com.modsensoftware.marketplace.service.TransactionProcessingKafkaProducer;
 import com.modsensoftware.marketplace.service.UserTransactionService;
 import com.modsensoftware.marketplace.service.impl.UserClient;
 import com.modsensoftware.marketplace.service.impl.UserTransactionServiceImpl;
 import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,12 +22,16 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.BDDMockito;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author andrey.demyanchik on 11/27/2022
@@ -40,17 +45,24 @@ public class UserTransactionServiceTest {
     private UserTransactionDao transactionDao;
     @Mock
     private OrderService orderService;
-    @Mock
-    private TransactionProcessingKafkaProducer producer;
 
     private final UserTransactionMapper transactionMapper
             = Mappers.getMapper(UserTransactionMapper.class);
 
     private UserTransactionService underTest;
+    private ThreadPoolTaskExecutor remoteCallsExecutor;
 
     @BeforeEach
     void setUp() {
-        underTest = new UserTransactionServiceImpl(userClient, transactionDao, orderService, producer);
+        remoteCallsExecutor = new ThreadPoolTaskExecutor();
+        remoteCallsExecutor.setCorePoolSize(2);
+        remoteCallsExecutor.initialize();
+        underTest = new UserTransactionServiceImpl(userClient, transactionDao, orderService, remoteCallsExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        remoteCallsExecutor.shutdown();
     }
 
     @Test
@@ -78,18 +90,57 @@ public class UserTransactionServiceTest {
         expectedTransaction.setStatus(UserTransactionStatus.IN_PROGRESS);
 
         // when
-        underTest.createUserTransaction(transactionDto);
+        underTest.createUserTransaction(transactionDto).join();
 
         // then
         BDDMockito.verify(orderService).validateOrders(transactionDto.getOrderLine());
         ArgumentCaptor<UserTransaction> transactionCaptor = ArgumentCaptor.forClass(UserTransaction.class);
-        BDDMockito.verify(transactionDao).save(transactionCaptor.capture());
+        BDDMockito.verify(transactionDao).saveForProcessing(transactionCaptor.capture());
 
         UserTransaction transactionBeingSaved = transactionCaptor.getValue();
         transactionBeingSaved.setCreated(null);
         Assertions.assertThat(transactionBeingSaved).isEqualTo(expectedTransaction);
-        BDDMockito.verify(producer).publishUserTransactionProcessing(
-                transactionMapper.toPlacedUserTransaction(expectedTransaction)
-        );
+    }
+
+    @Test
+    public void shouldLookUpUserAndPositionsConcurrently() {
+        // given
+        UUID userId = UUID.randomUUID();
+        OrderRequest orderDto = new OrderRequest("1", new BigDecimal("5"));
+        UserTransactionRequest transactionDto = new UserTransactionRequest(userId, List.of(orderDto));
+        CountDownLatch bothCallsStarted = new CountDownLatch(2);
+        BDDMockito.when(userClient.getUserById(userId)).thenAnswer(invocation -> {
+            bothCallsStarted.countDown();
+            bothCallsStarted.await(5, TimeUnit.SECONDS);
+            return new UserResponse();
+        });
+        BDDMockito.willAnswer(invocation -> {
+            bothCallsStarted.countDown();
+            bothCallsStarted.await(5, TimeUnit.SECONDS);
+            return null;
+        }).given(orderService).validateOrders(transactionDto.getOrderLine());
+
+        // when
+        underTest.createUserTransaction(transactionDto).join();
+
+        // then
+        Assertions.assertThat(bothCallsStarted.getCount()).isZero();
+        BDDMockito.verify(transactionDao).saveForProcessing(BDDMockito.any(UserTransaction.class));
+    }
+
+    @Test
+    public void shouldNotSaveTransactionIfUserLookupFails() {
+        // given
+        UUID userId = UUID.randomUUID();
+        OrderRequest orderDto = new OrderRequest("1", new BigDecimal("5"));
+        UserTransactionRequest transactionDto = new UserTransactionRequest(userId, List.of(orderDto));
+        BDDMockito.when(userClient.getUserById(userId)).thenThrow(new EntityNotFoundException("User is not found"));
+
+        // when
+        CompletableFuture<Void> result = underTest.createUserTransaction(transactionDto);
+
+        // then
+        Assertions.assertThatThrownBy(result::join).hasCauseInstanceOf(EntityNotFoundException.class);
+        BDDMockito.verify(transactionDao, BDDMockito.never()).saveForProcessing(BDDMockito.any());
     }
 }
@@ -15,6 +15,9 @@ create table user_transaction_service.user_transaction
         primary key (id)
 );
 
+create index idx_user_transaction_user_id_created
+    on user_transaction_service.user_transaction (user_id, created desc, id desc);
+
 create table user_transaction_service."order"
 (
     id                  bigint generated by default as identity,
@@ -27,4 +30,20 @@ create table user_transaction_service."order"
         foreign key (user_transaction_id) references user_transaction_service.user_transaction,
     constraint amount_check
         check (amount >= (0.01)::double precision)
-);
\ No newline at end of file
+);
+
+create index idx_order_user_transaction_id
+    on user_transaction_service."order" (user_transaction_id);
+create table user_transaction_service.transaction_outbox
+(
+    id                  bigint generated by default as identity,
+    user_transaction_id bigint    not null,
+    created             timestamp not null,
+    constraint transaction_outbox_pkey
+        primary key (id)
+);
+
+-- Ids are allocated by hibernate in blocks of 50 above ids used by integration test data
+create sequence user_transaction_service.user_transaction_seq start with 1100 increment by 50;
+create sequence user_transaction_service.order_seq start with 1100 increment by 50;
+create sequence user_transaction_service.transaction_outbox_seq start with 1 increment by 50;